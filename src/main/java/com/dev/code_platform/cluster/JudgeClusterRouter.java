@@ -0,0 +1,89 @@
+package com.dev.code_platform.cluster;
+
+import com.dev.code_platform.datastructures.ConsistentHashRing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maps each problem to the judge node that holds its test cases.
+ * Judge nodes sit on a consistent-hash ring keyed by problemId, so a node
+ * joining or leaving only moves the problems adjacent to its ring positions.
+ */
+@Component
+@Slf4j
+public class JudgeClusterRouter {
+
+    private final String localNodeId;
+    private final ConsistentHashRing<String> ring;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public JudgeClusterRouter(
+            @Value("${judge.cluster.node-id:local}") String localNodeId,
+            @Value("${judge.cluster.nodes:}") List<String> nodeIds,
+            @Value("${judge.cluster.virtual-nodes:128}") int virtualNodes,
+            ApplicationEventPublisher eventPublisher) {
+
+        this.localNodeId = localNodeId;
+        this.ring = new ConsistentHashRing<>(virtualNodes);
+        this.eventPublisher = eventPublisher;
+
+        // A standalone node owns every problem
+        ring.addNode(localNodeId);
+        for (String nodeId : nodeIds) {
+            if (!nodeId.isBlank()) {
+                ring.addNode(nodeId.trim());
+            }
+        }
+
+        log.info("Judge node '{}' joined ring with nodes {}", localNodeId, ring.getNodes());
+    }
+
+    /**
+     * Get the node that owns a problem's test cases; queued submissions route here
+     */
+    public String ownerOf(String problemId) {
+        return ring.getNode(problemId);
+    }
+
+    /**
+     * Check if this node owns a problem's test cases
+     */
+    public boolean isLocal(String problemId) {
+        return localNodeId.equals(ring.getNode(problemId));
+    }
+
+    public String getLocalNodeId() {
+        return localNodeId;
+    }
+
+    public Set<String> getNodes() {
+        return ring.getNodes();
+    }
+
+    /**
+     * Add a judge node to the ring (called by membership discovery)
+     */
+    public void nodeJoined(String nodeId) {
+        ring.addNode(nodeId);
+        log.info("Judge node '{}' joined, ring is now {}", nodeId, ring.getNodes());
+        eventPublisher.publishEvent(new JudgeRingChangedEvent(nodeId, true));
+    }
+
+    /**
+     * Remove a judge node from the ring (called by membership discovery)
+     */
+    public void nodeLeft(String nodeId) {
+        if (nodeId.equals(localNodeId)) {
+            throw new IllegalArgumentException("Local node cannot leave its own ring");
+        }
+        ring.removeNode(nodeId);
+        log.info("Judge node '{}' left, ring is now {}", nodeId, ring.getNodes());
+        eventPublisher.publishEvent(new JudgeRingChangedEvent(nodeId, false));
+    }
+}
@@ -0,0 +1,7 @@
+package com.dev.code_platform.cluster;
+
+/**
+ * Published after a judge node joins or leaves the ring
+ */
+public record JudgeRingChangedEvent(String nodeId, boolean joined) {
+}
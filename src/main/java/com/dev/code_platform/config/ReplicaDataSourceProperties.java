@@ -0,0 +1,15 @@
+package com.dev.code_platform.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("app.datasource.replica")
+public class ReplicaDataSourceProperties {
+    private String url;
+    private String username;                  // Defaults to the primary's username
+    private String password;                  // Defaults to the primary's password
+    private int maximumPoolSize = 10;
+    private long maxLagMs = 5000;             // Above this, read-only transactions go to the primary
+    private long lagCheckIntervalMs = 2000;
+}
@@ -0,0 +1,71 @@
+package com.dev.code_platform.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import jakarta.annotation.PostConstruct;
+import javax.sql.DataSource;
+
+/**
+ * Polls replication lag on the replica and takes it out of rotation when it falls too far behind
+ * or cannot be reached, so read-only transactions fall back to the primary.
+ */
+@Slf4j
+public class ReplicaLagGuard {
+
+    // Zero when caught up (or not a standby at all), otherwise age of the last replayed transaction
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000, 0)
+            END""";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMs;
+
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagGuard(DataSource replicaDataSource, long maxLagMs) {
+        this(new JdbcTemplate(replicaDataSource), maxLagMs);
+    }
+
+    ReplicaLagGuard(JdbcTemplate replicaJdbcTemplate, long maxLagMs) {
+        this.replicaJdbcTemplate = replicaJdbcTemplate;
+        this.maxLagMs = maxLagMs;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        checkLag();
+    }
+
+    /**
+     * Check if read-only transactions may use the replica
+     */
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:2000}")
+    public void checkLag() {
+        boolean usable;
+        try {
+            Double lagMs = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+            usable = lagMs != null && lagMs <= maxLagMs;
+            if (!usable && replicaUsable) {
+                log.warn("Replica lag {} ms exceeds {} ms, routing reads to primary", lagMs, maxLagMs);
+            }
+        } catch (RuntimeException e) {
+            usable = false;
+            if (replicaUsable) {
+                log.warn("Replica unreachable, routing reads to primary: {}", e.getMessage());
+            }
+        }
+
+        if (usable && !replicaUsable) {
+            log.info("Replica within lag limit, routing read-only transactions to replica");
+        }
+        replicaUsable = usable;
+    }
+}
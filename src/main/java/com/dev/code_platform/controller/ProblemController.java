@@ -2,17 +2,31 @@ package com.dev.code_platform.controller;
 
 import com.dev.code_platform.dto.ProblemRequest;
 import com.dev.code_platform.dto.ProblemResponse;
+import com.dev.code_platform.dto.ProblemStatsResponse;
+import com.dev.code_platform.dto.SamplePayload;
 import com.dev.code_platform.dto.TestCaseRequest;
 import com.dev.code_platform.model.Problem;
 import com.dev.code_platform.model.TestCase;
 import com.dev.code_platform.service.ProblemService;
+import com.dev.code_platform.service.ProblemStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/problems")
@@ -21,6 +35,10 @@ import java.util.List;
 public class ProblemController {
 
     private final ProblemService problemService;
+    private final ProblemStatsService problemStatsService;
+
+    // Payloads smaller than this are not worth compressing
+    private static final int GZIP_MIN_BYTES = 1024;
 
     /**
      * Create a new problem
@@ -48,6 +66,23 @@ public class ProblemController {
         return ResponseEntity.ok(problems);
     }
 
+    /**
+     * Search problems by title and description
+     * GET /api/problems/search?q=two+sum&difficulty=EASY&limit=20
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<Problem>> searchProblems(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String difficulty,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        log.info("Searching problems: '{}' (difficulty: {})", query, difficulty);
+
+        List<Problem> problems = problemService.searchProblems(query, difficulty, Math.min(limit, 100));
+
+        return ResponseEntity.ok(problems);
+    }
+
     /**
      * Get a specific problem with sample test cases
      * GET /api/problems/{problemId}
@@ -61,6 +96,19 @@ public class ProblemController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get submission statistics for a problem (acceptance rate, runtime/memory distribution per language)
+     * GET /api/problems/{problemId}/stats
+     */
+    @GetMapping("/{problemId}/stats")
+    public ResponseEntity<ProblemStatsResponse> getProblemStats(@PathVariable String problemId) {
+        log.info("Fetching stats for problem: {}", problemId);
+
+        ProblemStatsResponse stats = problemStatsService.getStats(problemId);
+
+        return ResponseEntity.ok(stats);
+    }
+
     /**
      * Add a test case to a problem
      * POST /api/problems/{problemId}/testcases
@@ -77,4 +125,55 @@ public class ProblemController {
 
         return ResponseEntity.status(HttpStatus.CREATED).body(testCase);
     }
+
+    /**
+     * Stream the full input or expected output of a sample test case
+     * GET /api/problems/{problemId}/samples/{testCaseId}/{input|output}
+     * Supports Range requests; gzip is applied only to whole-body responses
+     */
+    @GetMapping("/{problemId}/samples/{testCaseId}/{part}")
+    public ResponseEntity<Resource> getSamplePayload(
+            @PathVariable String problemId,
+            @PathVariable String testCaseId,
+            @PathVariable String part,
+            @RequestHeader HttpHeaders headers) {
+
+        log.info("Fetching sample {} of test case {} (problem: {})", part, testCaseId, problemId);
+
+        SamplePayload payload = problemService.getSamplePayload(problemId, testCaseId, part);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(1)).cachePublic())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        // Range offsets refer to the raw payload, so ranged responses stay uncompressed
+        if (headers.getRange().isEmpty() && acceptsGzip(headers)
+                && payload.getContent().length >= GZIP_MIN_BYTES) {
+            return response
+                    .eTag(payload.getHash() + "-gzip")
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(new ByteArrayResource(gzip(payload.getContent())));
+        }
+
+        // Spring turns a 200 Resource response into 206 partial content when Range is present
+        return response
+                .eTag(payload.getHash())
+                .body(new ByteArrayResource(payload.getContent()));
+    }
+
+    private static boolean acceptsGzip(HttpHeaders headers) {
+        String acceptEncoding = headers.getFirst(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
 }
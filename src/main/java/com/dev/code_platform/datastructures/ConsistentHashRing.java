@@ -0,0 +1,99 @@
+package com.dev.code_platform.datastructures;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class ConsistentHashRing<T> {
+
+    private final ConcurrentSkipListMap<Long, T> ring;   // Hash position -> node
+    private final Set<T> nodes;                            // Distinct physical nodes
+    private final int virtualNodes;                        // Ring positions per node
+
+    public ConsistentHashRing(int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be at least 1");
+        }
+        this.ring = new ConcurrentSkipListMap<>();
+        this.nodes = ConcurrentHashMap.newKeySet();
+        this.virtualNodes = virtualNodes;
+    }
+
+    /**
+     * Place a node on the ring at virtualNodes positions
+     * Only keys falling between the new positions and their predecessors change owner
+     * Time Complexity: O(v log(n*v))
+     */
+    public synchronized void addNode(T node) {
+        if (!nodes.add(node)) {
+            return;
+        }
+        for (int i = 0; i < virtualNodes; i++) {
+            ring.put(hash(node + "#" + i), node);
+        }
+    }
+
+    /**
+     * Remove a node; its keys move to the next node clockwise
+     * Time Complexity: O(v log(n*v))
+     */
+    public synchronized void removeNode(T node) {
+        if (!nodes.remove(node)) {
+            return;
+        }
+        for (int i = 0; i < virtualNodes; i++) {
+            ring.remove(hash(node + "#" + i), node);
+        }
+    }
+
+    /**
+     * Find the node owning a key: first ring position clockwise from the key's hash
+     * Time Complexity: O(log(n*v))
+     */
+    public T getNode(String key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+
+        Map.Entry<Long, T> entry = ring.ceilingEntry(hash(key));
+        if (entry == null) {
+            // Wrap around to the start of the ring
+            entry = ring.firstEntry();
+        }
+        return entry.getValue();
+    }
+
+    /**
+     * Get all physical nodes on the ring
+     */
+    public Set<T> getNodes() {
+        return Set.copyOf(nodes);
+    }
+
+    /**
+     * Check if ring has no nodes
+     */
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    /**
+     * 64-bit FNV-1a over UTF-8 bytes, followed by a murmur finalizer to spread nearby keys
+     */
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,126 @@
+package com.dev.code_platform.datastructures;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-memory histogram with log-linear buckets, for streaming percentiles of runtime and memory.
+ *
+ * Values below 32 get exact buckets; above that each power of two is split into 16 sub-buckets,
+ * so any reported percentile is within ~3% of the true value. Values at or above 2^24 share the
+ * last bucket. Recording is lock-free and O(1).
+ */
+public class LogHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;                    // 16 sub-buckets per power of two
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;         // Values below this are exact
+    private static final int MIN_EXPONENT = SUB_BUCKET_BITS + 1;
+    private static final int MAX_EXPONENT = 23;                      // Largest tracked value < 2^24
+
+    public static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS;
+
+    private final AtomicIntegerArray buckets = new AtomicIntegerArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+
+    /**
+     * Record one value
+     * Time Complexity: O(1)
+     */
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        buckets.incrementAndGet(bucketIndex(clamped));
+        count.incrementAndGet();
+        sum.addAndGet(clamped);
+    }
+
+    /**
+     * Get the value at a percentile (0-100), or null if nothing was recorded
+     * Time Complexity: O(BUCKET_COUNT)
+     */
+    public Long percentile(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return null;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return bucketMidpoint(i);
+            }
+        }
+        return bucketMidpoint(BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Get the mean of recorded values, or null if nothing was recorded
+     */
+    public Double mean() {
+        long total = count.get();
+        return total == 0 ? null : (double) sum.get() / total;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getSum() {
+        return sum.get();
+    }
+
+    /**
+     * Copy out bucket counts (for checkpointing)
+     */
+    public int[] bucketCounts() {
+        int[] counts = new int[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * Add bucket counts and their sum restored from a checkpoint
+     */
+    public void merge(int[] bucketCounts, long bucketSum) {
+        long added = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (bucketCounts[i] != 0) {
+                buckets.addAndGet(i, bucketCounts[i]);
+                added += bucketCounts[i];
+            }
+        }
+        count.addAndGet(added);
+        sum.addAndGet(bucketSum);
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long bucketMidpoint(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + MIN_EXPONENT;
+        int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+        return lower + width / 2;
+    }
+}
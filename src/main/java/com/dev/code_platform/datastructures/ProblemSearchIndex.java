@@ -0,0 +1,254 @@
+package com.dev.code_platform.datastructures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class ProblemSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;    // A title hit counts as three description hits
+    private static final double K1 = 1.2;          // BM25 term-frequency saturation
+    private static final double B = 0.75;          // BM25 length normalization
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "given", "if", "in",
+            "is", "it", "of", "on", "or", "that", "the", "this", "to", "with", "you", "your");
+
+    // Inner class: postings for one term as varint-encoded (docId delta, weighted tf) pairs
+    private static class PostingList {
+        byte[] data = new byte[8];
+        int length;            // Bytes used
+        int docCount;          // Documents containing the term
+        int lastDocId = -1;
+
+        void add(int docId, int termFrequency) {
+            writeVarint(docId - lastDocId);
+            writeVarint(termFrequency);
+            lastDocId = docId;
+            docCount++;
+        }
+
+        private void writeVarint(int value) {
+            if (length + 5 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            while ((value & ~0x7F) != 0) {
+                data[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[length++] = (byte) value;
+        }
+    }
+
+    private record ScoredDoc(int docId, double score) {
+    }
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<String, Integer> docIdByProblem = new HashMap<>();
+    private final List<String> problemIds = new ArrayList<>();     // docId -> problemId
+    private final List<String> difficulties = new ArrayList<>();   // docId -> difficulty
+    private int[] docLengths = new int[16];                         // docId -> weighted token count
+    private long totalLength;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Index a problem's title and description; problems already indexed are skipped
+     * Time Complexity: O(tokens)
+     */
+    public void add(String problemId, String title, String description, String difficulty) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = countTerms(title, TITLE_WEIGHT, termFrequencies)
+                + countTerms(description, 1, termFrequencies);
+
+        lock.writeLock().lock();
+        try {
+            if (docIdByProblem.containsKey(problemId)) {
+                return;
+            }
+
+            int docId = problemIds.size();
+            docIdByProblem.put(problemId, docId);
+            problemIds.add(problemId);
+            difficulties.add(difficulty);
+
+            if (docId == docLengths.length) {
+                docLengths = Arrays.copyOf(docLengths, docLengths.length * 2);
+            }
+            docLengths[docId] = length;
+            totalLength += length;
+
+            // Doc ids only grow, so every posting list stays sorted and deltas stay positive
+            termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, k -> new PostingList()).add(docId, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked search: BM25 over all query terms (any term may match, more matches rank higher),
+     * optionally restricted to one difficulty (null or blank means any). Returns problemIds, best match first
+     * Time Complexity: O(p log k) where p = total postings of the query terms
+     */
+    public List<String> search(String query, String difficulty, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int docCount = problemIds.size();
+            if (docCount == 0) {
+                return List.of();
+            }
+
+            double averageLength = Math.max(1.0, (double) totalLength / docCount);
+
+            // Scores only for documents in the query terms' postings, not one slot per indexed problem
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            int candidates = 0;
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list != null) {
+                    lists.add(list);
+                    candidates += list.docCount;
+                }
+            }
+            Map<Integer, Double> scores = new HashMap<>(Math.min(candidates, docCount) * 4 / 3 + 1);
+            for (PostingList list : lists) {
+                accumulate(list, docCount, averageLength, scores);
+            }
+
+            // Keep the best `limit` matches in a min-heap; on equal scores the earlier-indexed problem ranks first
+            PriorityQueue<ScoredDoc> top = new PriorityQueue<>((x, y) -> x.score() != y.score()
+                    ? Double.compare(x.score(), y.score())
+                    : Integer.compare(y.docId(), x.docId()));
+            for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                int docId = entry.getKey();
+                if (!matchesDifficulty(docId, difficulty)) {
+                    continue;
+                }
+                top.offer(new ScoredDoc(docId, entry.getValue()));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            String[] ranked = new String[top.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = problemIds.get(top.poll().docId());
+            }
+            return List.of(ranked);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get number of indexed problems
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return problemIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all problems from the index
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docIdByProblem.clear();
+            problemIds.clear();
+            difficulties.clear();
+            docLengths = new int[16];
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void accumulate(PostingList list, int docCount, double averageLength, Map<Integer, Double> scores) {
+        double idf = Math.log(1 + (docCount - list.docCount + 0.5) / (list.docCount + 0.5));
+
+        byte[] data = list.data;
+        int position = 0;
+        int docId = -1;
+
+        while (position < list.length) {
+            // Decode docId delta
+            int delta = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[position++];
+                delta |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            // Decode weighted term frequency
+            int frequency = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[position++];
+                frequency |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+
+            docId += delta;
+            double norm = K1 * (1 - B + B * docLengths[docId] / averageLength);
+            scores.merge(docId, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+        }
+    }
+
+    private boolean matchesDifficulty(int docId, String difficulty) {
+        return difficulty == null || difficulty.isBlank() || difficulty.equalsIgnoreCase(difficulties.get(docId));
+    }
+
+    private static int countTerms(String text, int weight, Map<String, Integer> termFrequencies) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            termFrequencies.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    /**
+     * Lowercase, split on anything that is not a letter or digit, drop stop words and single characters
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        String lower = text.toLowerCase();
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = lower.substring(start, i);
+                if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,64 @@
+package com.dev.code_platform.datastructures;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running statistics for one problem: verdict counts, plus runtime and memory
+ * histograms per language. Every update is O(1) and memory stays fixed per language.
+ */
+public class ProblemStats {
+
+    private final ConcurrentHashMap<String, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LogHistogram> runtimeByLanguage = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LogHistogram> memoryByLanguage = new ConcurrentHashMap<>();
+
+    /**
+     * Record one judged submission
+     * Time Complexity: O(1)
+     */
+    public void record(String status, String language, Integer runtimeMs, Integer memoryKb) {
+        addStatusCount(status, 1);
+
+        if (language == null) {
+            return;
+        }
+        if (runtimeMs != null) {
+            runtimeHistogram(language).record(runtimeMs);
+        }
+        if (memoryKb != null) {
+            memoryHistogram(language).record(memoryKb);
+        }
+    }
+
+    public void addStatusCount(String status, long count) {
+        statusCounts.computeIfAbsent(status, k -> new LongAdder()).add(count);
+    }
+
+    /**
+     * Get verdict counts, sorted by status
+     */
+    public Map<String, Long> getStatusCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        statusCounts.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    public LogHistogram runtimeHistogram(String language) {
+        return runtimeByLanguage.computeIfAbsent(language, k -> new LogHistogram());
+    }
+
+    public LogHistogram memoryHistogram(String language) {
+        return memoryByLanguage.computeIfAbsent(language, k -> new LogHistogram());
+    }
+
+    public Map<String, LogHistogram> getRuntimeByLanguage() {
+        return runtimeByLanguage;
+    }
+
+    public Map<String, LogHistogram> getMemoryByLanguage() {
+        return memoryByLanguage;
+    }
+}
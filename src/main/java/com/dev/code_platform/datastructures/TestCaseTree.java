@@ -37,6 +37,31 @@ public class TestCaseTree {
         count++;
     }
 
+    /**
+     * Replace the tree contents with test cases already sorted by difficulty,
+     * building a balanced tree instead of inserting one by one
+     * (sorted inserts would otherwise degrade the BST into a linked list)
+     * Time Complexity: O(n)
+     */
+    public void loadSorted(List<TestCase> sortedTestCases) {
+        root = buildBalanced(sortedTestCases, 0, sortedTestCases.size() - 1);
+        count = sortedTestCases.size();
+    }
+
+    private TreeNode buildBalanced(List<TestCase> sortedTestCases, int low, int high) {
+        if (low > high) {
+            return null;
+        }
+
+        // Middle element becomes the subtree root
+        int mid = (low + high) >>> 1;
+        TreeNode node = new TreeNode(sortedTestCases.get(mid));
+        node.left = buildBalanced(sortedTestCases, low, mid - 1);
+        node.right = buildBalanced(sortedTestCases, mid + 1, high);
+
+        return node;
+    }
+
     private TreeNode insertRecursive(TreeNode node, TestCase testCase) {
         // Base case: found the position to insert
         if (node == null) {
@@ -79,6 +104,23 @@ public class TestCaseTree {
         inOrderRecursive(node.right, result);   // Visit right subtree
     }
 
+    /**
+     * Check if a test case is already in the tree
+     * Time Complexity: O(n), ids are not ordered by difficulty
+     */
+    public boolean contains(String testCaseId) {
+        return containsRecursive(root, testCaseId);
+    }
+
+    private boolean containsRecursive(TreeNode node, String testCaseId) {
+        if (node == null) {
+            return false;
+        }
+        return testCaseId.equals(node.data.getTestCaseId())
+                || containsRecursive(node.left, testCaseId)
+                || containsRecursive(node.right, testCaseId);
+    }
+
     /**
      * Get total number of test cases
      */
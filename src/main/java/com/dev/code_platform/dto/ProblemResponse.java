@@ -1,6 +1,5 @@
 package com.dev.code_platform.dto;
 
-import com.dev.code_platform.model.TestCase;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,6 +16,6 @@ public class ProblemResponse {
     private String difficulty;
     private Integer timeLimitMs;
     private Integer memoryLimitMb;
-    private List<TestCase> sampleTestCases;  // Only public test cases
+    private List<SampleTestCaseResponse> sampleTestCases;  // Only public test cases, as previews
     private Integer totalTestCases;           // Total count (including hidden)
 }
@@ -0,0 +1,34 @@
+package com.dev.code_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProblemStatsResponse {
+    private String problemId;
+    private Long totalSubmissions;                  // Judged submissions only
+    private Long acceptedSubmissions;
+    private Double acceptanceRate;                  // 0.0 - 1.0, null if nothing judged yet
+    private Map<String, Long> statusCounts;         // Verdict -> count
+    private Map<String, LanguageStats> languages;   // Language -> distribution
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LanguageStats {
+        private Long samples;
+        private Double runtimeMeanMs;
+        private Long runtimeP50Ms;
+        private Long runtimeP90Ms;
+        private Long runtimeP99Ms;
+        private Double memoryMeanKb;
+        private Long memoryP50Kb;
+        private Long memoryP90Kb;
+        private Long memoryP99Kb;
+    }
+}
@@ -0,0 +1,11 @@
+package com.dev.code_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SamplePayload {
+    private byte[] content;                   // Full UTF-8 input or expected output
+    private String hash;                      // SHA-256 of content
+}
@@ -0,0 +1,21 @@
+package com.dev.code_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SampleTestCaseResponse {
+    private String testCaseId;
+    private Integer difficultyLevel;
+    private String inputPreview;              // First characters of the input
+    private Boolean inputTruncated;           // Preview is shorter than the full input
+    private Integer inputBytes;               // Full UTF-8 size
+    private String inputHash;                 // SHA-256 of the full input, usable as a cache key
+    private String outputPreview;
+    private Boolean outputTruncated;
+    private Integer outputBytes;
+    private String outputHash;
+}
@@ -4,17 +4,24 @@ package com.dev.code_platform.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Entity
 @Table(name = "submissions")
+@EntityListeners(SubmissionStatsListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Submission {
 
+    // Statuses a submission passes through before it has a verdict
+    private static final Set<String> PENDING_STATUSES = Set.of("QUEUED", "RUNNING");
+
     @Id
     @Column(name = "submission_id")
     private String submissionId;
@@ -46,17 +53,46 @@ public class Submission {
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
 
-    @Column(name = "submitted_at")
+    @Column(name = "submitted_at", nullable = false)
     private LocalDateTime submittedAt;
 
     @Column(name = "evaluated_at")
     private LocalDateTime evaluatedAt;
 
+    // Whether this submission's verdict is already counted in stats (as loaded, or since recorded)
+    // A rejudge passes through QUEUED/RUNNING again, so the current status alone cannot tell
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean verdictRecorded;
+
     @PrePersist
     protected void onCreate() {
         submittedAt = LocalDateTime.now();
         if (status == null) {
             status = "QUEUED";
         }
+        markEvaluated();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        markEvaluated();
+    }
+
+    /**
+     * Stamp evaluatedAt when the first verdict is saved; a rejudge keeps the original time
+     */
+    private void markEvaluated() {
+        if (evaluatedAt == null && isVerdict(status)) {
+            evaluatedAt = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * Check if a status is a final verdict (not queued or running)
+     */
+    public static boolean isVerdict(String status) {
+        return status != null && !PENDING_STATUSES.contains(status);
     }
 }
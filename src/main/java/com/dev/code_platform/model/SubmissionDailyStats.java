@@ -0,0 +1,51 @@
+package com.dev.code_platform.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "submission_daily_stats")
+@IdClass(SubmissionDailyStats.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionDailyStats {
+
+    @Id
+    @Column(name = "problem_id")
+    private String problemId;
+
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    @Id
+    @Column(nullable = false)
+    private String status;
+
+    @Column(name = "submission_count", nullable = false)
+    private Long submissionCount;
+
+    @Column(name = "runtime_p50_ms")
+    private Integer runtimeP50Ms;
+
+    @Column(name = "runtime_p90_ms")
+    private Integer runtimeP90Ms;
+
+    @Column(name = "runtime_p99_ms")
+    private Integer runtimeP99Ms;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String problemId;
+        private LocalDate statDate;
+        private String status;
+    }
+}
@@ -0,0 +1,65 @@
+package com.dev.code_platform.model;
+
+import com.dev.code_platform.service.ProblemStatsService;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Feeds ProblemStatsService whenever a submission is saved with a new verdict,
+ * whichever code path saves it. Updates are applied after commit so rolled-back
+ * verdicts are never counted.
+ */
+@Component
+public class SubmissionStatsListener {
+
+    private final ObjectProvider<ProblemStatsService> problemStatsService;
+
+    public SubmissionStatsListener(ObjectProvider<ProblemStatsService> problemStatsService) {
+        this.problemStatsService = problemStatsService;
+    }
+
+    @PostLoad
+    public void onLoad(Submission submission) {
+        // evaluatedAt is only stamped by the first verdict; older rows without it count by status
+        submission.setVerdictRecorded(submission.getEvaluatedAt() != null || Submission.isVerdict(submission.getStatus()));
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Submission submission) {
+        String status = submission.getStatus();
+
+        // Count only the first verdict: any later one is a rejudge, even after a reset to QUEUED/RUNNING
+        if (!Submission.isVerdict(status) || submission.isVerdictRecorded()) {
+            return;
+        }
+        submission.setVerdictRecorded(true);
+
+        String submissionId = submission.getSubmissionId();
+        LocalDateTime evaluatedAt = submission.getEvaluatedAt();
+        String problemId = submission.getProblemId();
+        String language = submission.getLanguage();
+        Integer runtimeMs = submission.getRuntimeMs();
+        Integer memoryKb = submission.getMemoryKb();
+        Runnable record = () -> problemStatsService.getObject()
+                .recordVerdict(submissionId, evaluatedAt, problemId, status, language, runtimeMs, memoryKb);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record.run();
+                }
+            });
+        } else {
+            record.run();
+        }
+    }
+}
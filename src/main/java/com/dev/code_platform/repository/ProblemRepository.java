@@ -4,6 +4,7 @@ import com.dev.code_platform.model.Problem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -12,4 +13,6 @@ public interface ProblemRepository extends JpaRepository<Problem, String> {
     List<Problem> findByDifficulty(String difficulty);
 
     boolean existsByProblemId(String problemId);
+
+    List<Problem> findByCreatedAtAfter(LocalDateTime createdAt);
 }
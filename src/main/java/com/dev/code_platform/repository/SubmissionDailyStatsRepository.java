@@ -0,0 +1,16 @@
+package com.dev.code_platform.repository;
+
+import com.dev.code_platform.model.SubmissionDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SubmissionDailyStatsRepository extends JpaRepository<SubmissionDailyStats, SubmissionDailyStats.Key> {
+
+    List<SubmissionDailyStats> findByProblemId(String problemId);
+
+    List<SubmissionDailyStats> findByProblemIdAndStatDateBetween(String problemId, LocalDate from, LocalDate to);
+}
@@ -3,15 +3,42 @@ package com.dev.code_platform.repository;
 import com.dev.code_platform.model.Submission;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface SubmissionRepository extends JpaRepository<Submission, String> {
 
+    @Transactional(readOnly = true)
     List<Submission> findByProblemId(String problemId);
 
-    List<Submission> findByProblemIdAndStatus(String problemId, String status);
+    // How far back the unbounded-looking per-status queries read: the most recent monthly partitions
+    Duration HOT_WINDOW = Duration.ofDays(90);
 
-    List<Submission> findByProblemIdAndStatusOrderByRuntimeMsAsc(String problemId, String status);
+    /**
+     * Submissions of a problem with a status, from the hot window only
+     */
+    default List<Submission> findByProblemIdAndStatus(String problemId, String status) {
+        return findByProblemIdAndStatusAndSubmittedAtAfter(problemId, status, LocalDateTime.now().minus(HOT_WINDOW));
+    }
+
+    /**
+     * Leaderboard: submissions of a problem with a status, fastest first, from the hot window only
+     */
+    default List<Submission> findByProblemIdAndStatusOrderByRuntimeMsAsc(String problemId, String status) {
+        return findByProblemIdAndStatusAndSubmittedAtAfterOrderByRuntimeMsAsc(
+                problemId, status, LocalDateTime.now().minus(HOT_WINDOW));
+    }
+
+    // Hot per-status queries are bounded by submitted_at so Postgres prunes to the recent partitions only
+    @Transactional(readOnly = true)
+    List<Submission> findByProblemIdAndStatusAndSubmittedAtAfter(
+            String problemId, String status, LocalDateTime since);
+
+    @Transactional(readOnly = true)
+    List<Submission> findByProblemIdAndStatusAndSubmittedAtAfterOrderByRuntimeMsAsc(
+            String problemId, String status, LocalDateTime since);
 }
@@ -4,6 +4,7 @@ import com.dev.code_platform.model.TestCase;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -14,4 +15,6 @@ public interface TestCaseRepository extends JpaRepository<TestCase, String> {
     List<TestCase> findByProblemIdAndIsSample(String problemId, Boolean isSample);
 
     long countByProblemId(String problemId);
+
+    List<TestCase> findByCreatedAtAfter(LocalDateTime createdAt);
 }
@@ -1,68 +1,395 @@
 package com.dev.code_platform.service;
 
+import com.dev.code_platform.cluster.JudgeClusterRouter;
+import com.dev.code_platform.cluster.JudgeRingChangedEvent;
+import com.dev.code_platform.datastructures.ProblemSearchIndex;
 import com.dev.code_platform.datastructures.TestCaseTree;
 import com.dev.code_platform.dto.ProblemRequest;
 import com.dev.code_platform.dto.ProblemResponse;
+import com.dev.code_platform.dto.SamplePayload;
+import com.dev.code_platform.dto.SampleTestCaseResponse;
 import com.dev.code_platform.dto.TestCaseRequest;
+import com.dev.code_platform.exception.ResourceNotFoundException;
 import com.dev.code_platform.model.Problem;
 import com.dev.code_platform.model.TestCase;
 import com.dev.code_platform.repository.ProblemRepository;
 import com.dev.code_platform.repository.TestCaseRepository;
+import com.dev.code_platform.snapshot.CatalogSnapshot;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ProblemService {
 
     private final ProblemRepository problemRepository;
     private final TestCaseRepository testCaseRepository;
+    private final JudgeClusterRouter judgeClusterRouter;
+
+    // Run cache-filling loads in read-write transactions (see onPrimary)
+    private final TransactionTemplate primaryTransaction;
+    private final TransactionTemplate newPrimaryTransaction;
 
     // In-memory cache: problemId -> Problem
     private final ConcurrentHashMap<String, Problem> problemCache = new ConcurrentHashMap<>();
 
-    // In-memory BST: problemId -> TestCaseTree
+    // In-memory BST: problemId -> TestCaseTree (only problems this judge node owns on the ring)
     private final ConcurrentHashMap<String, TestCaseTree> testCaseTrees = new ConcurrentHashMap<>();
 
+    // Inverted index over problem titles and descriptions
+    private final ProblemSearchIndex searchIndex = new ProblemSearchIndex();
+
+    // Test set summaries: problemId -> sample previews (full payloads are fetched separately) and total count
+    // Expire after sample.preview-ttl-ms so test cases added through other nodes show up
+    private final ConcurrentHashMap<String, CachedTestSetSummary> testSetSummaries = new ConcurrentHashMap<>();
+
+    private record CachedTestSetSummary(List<SampleTestCaseResponse> previews, int totalTestCases,
+                                        long loadedAtMillis) {
+    }
+
+    // Catch-up window before the snapshot timestamp, absorbs clock skew between nodes writing created_at
+    private static final Duration SNAPSHOT_CATCH_UP_OVERLAP = Duration.ofMinutes(5);
+
+    // Rows created up to this long before the last catch-up are read again, absorbing commit delay and clock skew
+    @Value("${catalog.catch-up.overlap-ms:60000}")
+    private long catchUpOverlapMs;
+
+    // Start of the last catch-up: rows created through other nodes after this are not held yet
+    private volatile LocalDateTime caughtUpTo;
+
+    @Value("${catalog.snapshot.enabled:true}")
+    private boolean snapshotEnabled;
+
+    @Value("${catalog.snapshot.path:data/catalog.snapshot}")
+    private String snapshotPath;
+
+    @Value("${sample.preview-chars:256}")
+    private int samplePreviewChars;
+
+    @Value("${sample.preview-ttl-ms:30000}")
+    private long samplePreviewTtlMs;
+
+    public ProblemService(ProblemRepository problemRepository,
+                          TestCaseRepository testCaseRepository,
+                          JudgeClusterRouter judgeClusterRouter,
+                          PlatformTransactionManager transactionManager) {
+        this.problemRepository = problemRepository;
+        this.testCaseRepository = testCaseRepository;
+        this.judgeClusterRouter = judgeClusterRouter;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.newPrimaryTransaction = new TransactionTemplate(transactionManager);
+        this.newPrimaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
     /**
-     * Load all problems and build test case trees on application startup
+     * Restore problems and test case trees on application startup:
+     * from the local snapshot plus rows created since, or from a full database load
      */
     @PostConstruct
     public void initialize() {
+        caughtUpTo = LocalDateTime.now();
+
+        if (snapshotEnabled && restoreFromSnapshot()) {
+            return;
+        }
+
+        loadFromDatabase();
+    }
+
+    /**
+     * Load all problems, and build test case trees for the problems this node owns, from the database
+     */
+    private void loadFromDatabase() {
         log.info("Loading problems and building test case trees...");
 
-        List<Problem> allProblems = problemRepository.findAll();
+        List<Problem> allProblems = onPrimary(problemRepository::findAll);
         log.info("Found {} problems in database", allProblems.size());
 
         for (Problem problem : allProblems) {
-            // Cache problem
-            problemCache.put(problem.getProblemId(), problem);
+            // Cache and index problem
+            cacheProblem(problem);
 
-            // Build test case tree
-            TestCaseTree tree = new TestCaseTree();
-            List<TestCase> testCases = testCaseRepository.findByProblemId(problem.getProblemId());
-
-            for (TestCase testCase : testCases) {
-                tree.insert(testCase);
+            // Build test case tree only for problems routed to this node
+            if (!judgeClusterRouter.isLocal(problem.getProblemId())) {
+                continue;
             }
 
+            TestCaseTree tree = loadTestCaseTree(problem.getProblemId());
             testCaseTrees.put(problem.getProblemId(), tree);
 
             log.info("Loaded problem '{}' with {} test cases",
                     problem.getTitle(), tree.getCount());
         }
 
-        log.info("Initialization complete. {} problems cached.", problemCache.size());
+        log.info("Initialization complete. {} problems cached, {} test sets owned by node '{}'.",
+                problemCache.size(), testCaseTrees.size(), judgeClusterRouter.getLocalNodeId());
+    }
+
+    /**
+     * Get the tree for a problem this node owns, loading the full test set from the database
+     * if it is not held yet (e.g. the problem was created through another node)
+     * Loaded outside the map so the database call never holds a map bin lock;
+     * a tree put by a concurrent caller wins and is never overwritten
+     */
+    private TestCaseTree ownedTestCaseTree(String problemId) {
+        TestCaseTree tree = testCaseTrees.get(problemId);
+        if (tree != null) {
+            return tree;
+        }
+
+        TestCaseTree loaded = loadTestCaseTree(problemId);
+        TestCaseTree existing = testCaseTrees.putIfAbsent(problemId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * Build a test case tree for one problem from the database
+     */
+    private TestCaseTree loadTestCaseTree(String problemId) {
+        TestCaseTree tree = new TestCaseTree();
+        List<TestCase> testCases = onPrimary(() -> testCaseRepository.findByProblemId(problemId));
+
+        for (TestCase testCase : testCases) {
+            tree.insert(testCase);
+        }
+
+        return tree;
+    }
+
+    /**
+     * Rebuild caches from the memory-mapped snapshot, then catch up on rows created after it
+     * Returns false if there is no usable snapshot
+     */
+    private boolean restoreFromSnapshot() {
+        Path path = Path.of(snapshotPath);
+        if (!Files.exists(path)) {
+            log.info("No catalog snapshot at {}, falling back to database load", path);
+            return false;
+        }
+
+        CatalogSnapshot snapshot;
+        Set<String> knownTestCaseIds = new HashSet<>();
+        try {
+            snapshot = CatalogSnapshot.read(path);
+
+            for (CatalogSnapshot.Entry entry : snapshot.getEntries()) {
+                String problemId = entry.problem().getProblemId();
+                cacheProblem(entry.problem());
+
+                // Ownership may have moved since the snapshot; missing sets are warmed below
+                if (entry.testCases() == null || !judgeClusterRouter.isLocal(problemId)) {
+                    continue;
+                }
+
+                // Test cases are stored in tree order, so the tree can be rebuilt balanced in O(n)
+                TestCaseTree tree = new TestCaseTree();
+                tree.loadSorted(entry.testCases());
+                testCaseTrees.put(problemId, tree);
+
+                for (TestCase testCase : entry.testCases()) {
+                    knownTestCaseIds.add(testCase.getTestCaseId());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read catalog snapshot {}: {}", path, e.getMessage());
+            problemCache.clear();
+            testCaseTrees.clear();
+            searchIndex.clear();
+            return false;
+        }
+
+        // Catch up on rows created since the snapshot was taken
+        LocalDateTime since = snapshot.getTakenAt().minus(SNAPSHOT_CATCH_UP_OVERLAP);
+
+        List<Problem> newProblems = onPrimary(() -> problemRepository.findByCreatedAtAfter(since));
+        for (Problem problem : newProblems) {
+            cacheProblem(problem);
+        }
+
+        int newTestCases = 0;
+        for (TestCase testCase : onPrimary(() -> testCaseRepository.findByCreatedAtAfter(since))) {
+            // Skip rows inside the overlap window that the snapshot already holds
+            if (!knownTestCaseIds.add(testCase.getTestCaseId())) {
+                continue;
+            }
+            TestCaseTree tree = testCaseTrees.get(testCase.getProblemId());
+            if (tree != null) {
+                tree.insert(testCase);
+                newTestCases++;
+            }
+        }
+
+        log.info("Restored {} problems from snapshot taken at {} ({} problems, {} test cases caught up)",
+                problemCache.size(), snapshot.getTakenAt(), newProblems.size(), newTestCases);
+
+        // Owned problems without a test set in the snapshot (new, or moved here on the ring)
+        rebalanceTestCaseTrees();
+
+        return true;
+    }
+
+    /**
+     * Put a problem in the cache and the search index
+     */
+    private void cacheProblem(Problem problem) {
+        problemCache.put(problem.getProblemId(), problem);
+        searchIndex.add(problem.getProblemId(), problem.getTitle(), problem.getDescription(), problem.getDifficulty());
+    }
+
+    /**
+     * Re-sync test case trees with the ring after a judge node joins or leaves
+     */
+    @EventListener
+    public void onJudgeRingChanged(JudgeRingChangedEvent event) {
+        rebalanceTestCaseTrees();
+    }
+
+    /**
+     * Warm test sets for problems now owned by this node and drop the ones that moved away
+     * Only problems whose owner changed touch the database
+     */
+    private void rebalanceTestCaseTrees() {
+        int warmed = 0;
+        int dropped = 0;
+
+        for (String problemId : problemCache.keySet()) {
+            if (judgeClusterRouter.isLocal(problemId) && !testCaseTrees.containsKey(problemId)) {
+                ownedTestCaseTree(problemId);
+                warmed++;
+            }
+        }
+
+        // Also covers trees loaded on demand for problems this node never cached
+        for (String problemId : testCaseTrees.keySet()) {
+            if (!judgeClusterRouter.isLocal(problemId) && testCaseTrees.remove(problemId) != null) {
+                dropped++;
+            }
+        }
+
+        if (warmed > 0 || dropped > 0) {
+            log.info("Rebalanced test sets on node '{}': {} warmed, {} dropped",
+                    judgeClusterRouter.getLocalNodeId(), warmed, dropped);
+        }
+    }
+
+    /**
+     * Periodically pick up problems and test cases created through other nodes, so owners
+     * judge with the full test set without a restart
+     * Rows already held (e.g. loaded with a whole tree, or added through this node) are skipped
+     */
+    @Scheduled(initialDelayString = "${catalog.catch-up.interval-ms:10000}",
+            fixedDelayString = "${catalog.catch-up.interval-ms:10000}")
+    public synchronized void catchUpFromDatabase() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = caughtUpTo.minus(Duration.ofMillis(catchUpOverlapMs));
+
+        for (Problem problem : onPrimary(() -> problemRepository.findByCreatedAtAfter(since))) {
+            if (!problemCache.containsKey(problem.getProblemId())) {
+                cacheProblem(problem);
+            }
+        }
+
+        int added = 0;
+        for (TestCase testCase : onPrimary(() -> testCaseRepository.findByCreatedAtAfter(since))) {
+            TestCaseTree tree = testCaseTrees.get(testCase.getProblemId());
+            if (tree != null && insertIfAbsent(tree, testCase)) {
+                added++;
+                testSetSummaries.remove(testCase.getProblemId());
+            }
+        }
+
+        caughtUpTo = startedAt;
+        if (added > 0) {
+            log.info("Caught up {} test cases created through other nodes", added);
+        }
+    }
+
+    /**
+     * Insert a test case unless the tree already holds it
+     */
+    private static boolean insertIfAbsent(TestCaseTree tree, TestCase testCase) {
+        synchronized (tree) {
+            if (tree.contains(testCase.getTestCaseId())) {
+                return false;
+            }
+            tree.insert(testCase);
+            return true;
+        }
+    }
+
+    /**
+     * Periodically write the catalog snapshot so a crash still leaves a recent one on disk
+     */
+    @Scheduled(initialDelayString = "${catalog.snapshot.interval-ms:300000}",
+            fixedDelayString = "${catalog.snapshot.interval-ms:300000}")
+    public void scheduledSnapshot() {
+        if (snapshotEnabled) {
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * Write a final snapshot on graceful shutdown
+     */
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        if (snapshotEnabled) {
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * Write problems and their test cases (in tree order) to the local snapshot file
+     */
+    public void writeSnapshot() {
+        // Taken before reading the caches, so anything added meanwhile falls inside the catch-up window
+        LocalDateTime takenAt = LocalDateTime.now();
+
+        List<CatalogSnapshot.Entry> entries = new ArrayList<>(problemCache.size());
+        for (Problem problem : problemCache.values()) {
+            TestCaseTree tree = testCaseTrees.get(problem.getProblemId());
+            List<TestCase> testCases = tree != null ? tree.inOrderTraversal() : null;
+            entries.add(new CatalogSnapshot.Entry(problem, testCases));
+        }
+
+        try {
+            CatalogSnapshot.write(Path.of(snapshotPath), takenAt, entries);
+            log.info("Wrote catalog snapshot with {} problems to {}", entries.size(), snapshotPath);
+        } catch (IOException e) {
+            log.warn("Failed to write catalog snapshot to {}: {}", snapshotPath, e.getMessage());
+        }
     }
 
     /**
@@ -90,11 +417,13 @@ public class ProblemService {
         // Save to database
         Problem savedProblem = problemRepository.save(problem);
 
-        // Add to cache
-        problemCache.put(problemId, savedProblem);
+        // Add to cache and search index
+        cacheProblem(savedProblem);
 
-        // Initialize empty test case tree
-        testCaseTrees.put(problemId, new TestCaseTree());
+        // Initialize empty test case tree if this node owns the problem
+        if (judgeClusterRouter.isLocal(problemId)) {
+            testCaseTrees.put(problemId, new TestCaseTree());
+        }
 
         log.info("Created problem: {} (ID: {})", savedProblem.getTitle(), problemId);
 
@@ -103,6 +432,7 @@ public class ProblemService {
 
     /**
      * Get a problem by ID with sample test cases
+     * Not a read-only transaction: whatever is loaded here is cached, so it must come from the primary
      */
     public ProblemResponse getProblem(String problemId) {
         // Check cache first
@@ -110,20 +440,20 @@ public class ProblemService {
 
         if (problem == null) {
             // Not in cache, load from database
-            problem = problemRepository.findById(problemId)
+            problem = onPrimary(() -> problemRepository.findById(problemId))
                     .orElseThrow(() -> new RuntimeException("Problem not found: " + problemId));
 
             // Add to cache
-            problemCache.put(problemId, problem);
+            cacheProblem(problem);
         }
 
-        // Get ONLY sample test cases (isSample = true)
-        List<TestCase> sampleTestCases = testCaseRepository
-                .findByProblemIdAndIsSample(problemId, true);
+        // Get ONLY sample test cases (isSample = true), as previews with content hashes
+        CachedTestSetSummary summary = getTestSetSummary(problemId);
+        List<SampleTestCaseResponse> sampleTestCases = summary.previews();
 
-        // Get total count (including hidden)
+        // Get total count (including hidden), from the cached summary when another node owns the test set
         TestCaseTree tree = testCaseTrees.get(problemId);
-        int totalCount = tree != null ? tree.getCount() : 0;
+        int totalCount = tree != null ? tree.getCount() : summary.totalTestCases();
 
         // Build response
         ProblemResponse response = new ProblemResponse();
@@ -139,9 +469,17 @@ public class ProblemService {
         return response;
     }
 
+    /**
+     * Check if a problem exists (cache first)
+     */
+    public boolean exists(String problemId) {
+        return problemCache.containsKey(problemId) || problemRepository.existsByProblemId(problemId);
+    }
+
     /**
      * Get all problems (without test cases)
      */
+    @Transactional(readOnly = true)
     public List<Problem> getAllProblems() {
         // Return from cache if available
         if (!problemCache.isEmpty()) {
@@ -152,6 +490,17 @@ public class ProblemService {
         return problemRepository.findAll();
     }
 
+    /**
+     * Search problem titles and descriptions, best match first, optionally filtered by difficulty
+     * Served from the in-memory index, no database access
+     */
+    public List<Problem> searchProblems(String query, String difficulty, int limit) {
+        return searchIndex.search(query, difficulty, limit).stream()
+                .map(problemCache::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     /**
      * Add a test case to a problem
      */
@@ -177,9 +526,21 @@ public class ProblemService {
         // Save to database
         TestCase savedTestCase = testCaseRepository.save(testCase);
 
-        // Add to BST
-        TestCaseTree tree = testCaseTrees.computeIfAbsent(problemId, k -> new TestCaseTree());
-        tree.insert(savedTestCase);
+        // Drop the cached summary once the new row is visible, so the next getProblem reloads it
+        afterCommit(() -> testSetSummaries.remove(problemId));
+
+        // Add to BST if this node owns the problem
+        if (judgeClusterRouter.isLocal(problemId)) {
+            TestCaseTree tree = testCaseTrees.get(problemId);
+            if (tree == null) {
+                // Not held yet: load the whole set, which already includes the row saved in this transaction
+                TestCaseTree loaded = loadTestCaseTree(problemId);
+                tree = testCaseTrees.putIfAbsent(problemId, loaded);
+            }
+            if (tree != null) {
+                insertIfAbsent(tree, savedTestCase);
+            }
+        }
 
         log.info("Added test case to problem {} (difficulty: {}, sample: {})",
                 problemId, request.getDifficultyLevel(), request.getIsSample());
@@ -187,6 +548,126 @@ public class ProblemService {
         return savedTestCase;
     }
 
+    /**
+     * Get the full input or expected output of a sample test case
+     * Hidden test cases are never served
+     */
+    public SamplePayload getSamplePayload(String problemId, String testCaseId, String part) {
+        TestCase testCase = testCaseRepository.findById(testCaseId)
+                .filter(tc -> problemId.equals(tc.getProblemId()) && Boolean.TRUE.equals(tc.getIsSample()))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Sample test case not found: " + testCaseId + " in problem " + problemId));
+
+        String content = switch (part) {
+            case "input" -> testCase.getInput();
+            case "output" -> testCase.getExpectedOutput();
+            default -> throw new ResourceNotFoundException("Unknown sample part: " + part);
+        };
+
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        return new SamplePayload(bytes, contentHash(bytes));
+    }
+
+    /**
+     * Get sample previews and the test case count for a problem from the cache, reloading them
+     * once the TTL has passed
+     * Loaded outside the map so the database call never holds a map bin lock
+     */
+    private CachedTestSetSummary getTestSetSummary(String problemId) {
+        long now = System.currentTimeMillis();
+        CachedTestSetSummary cached = testSetSummaries.get(problemId);
+        if (cached != null && now - cached.loadedAtMillis() < samplePreviewTtlMs) {
+            return cached;
+        }
+
+        List<SampleTestCaseResponse> previews = loadSamplePreviews(problemId);
+        int totalTestCases = (int) (long) onPrimary(() -> testCaseRepository.countByProblemId(problemId));
+        CachedTestSetSummary summary = new CachedTestSetSummary(previews, totalTestCases, now);
+        testSetSummaries.put(problemId, summary);
+        return summary;
+    }
+
+    /**
+     * Run an action once the current transaction commits, or right away outside a transaction
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Run a load whose result gets cached in a read-write transaction, so it reads from the primary
+     * Inside an existing read-write transaction it joins that one and sees its uncommitted rows;
+     * inside a read-only one (which would stay on the replica) it runs in a new transaction
+     */
+    private <T> T onPrimary(Supplier<T> load) {
+        TransactionTemplate transaction = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? newPrimaryTransaction
+                : primaryTransaction;
+        return transaction.execute(status -> load.get());
+    }
+
+    /**
+     * Load sample test cases for a problem and reduce them to previews
+     */
+    private List<SampleTestCaseResponse> loadSamplePreviews(String problemId) {
+        return onPrimary(() -> testCaseRepository.findByProblemIdAndIsSample(problemId, true)).stream()
+                .map(this::toSamplePreview)
+                .toList();
+    }
+
+    private SampleTestCaseResponse toSamplePreview(TestCase testCase) {
+        byte[] input = testCase.getInput().getBytes(StandardCharsets.UTF_8);
+        byte[] output = testCase.getExpectedOutput().getBytes(StandardCharsets.UTF_8);
+
+        SampleTestCaseResponse preview = new SampleTestCaseResponse();
+        preview.setTestCaseId(testCase.getTestCaseId());
+        preview.setDifficultyLevel(testCase.getDifficultyLevel());
+        preview.setInputPreview(truncate(testCase.getInput()));
+        preview.setInputTruncated(preview.getInputPreview().length() < testCase.getInput().length());
+        preview.setInputBytes(input.length);
+        preview.setInputHash(contentHash(input));
+        preview.setOutputPreview(truncate(testCase.getExpectedOutput()));
+        preview.setOutputTruncated(preview.getOutputPreview().length() < testCase.getExpectedOutput().length());
+        preview.setOutputBytes(output.length);
+        preview.setOutputHash(contentHash(output));
+
+        return preview;
+    }
+
+    /**
+     * Cut text to the preview length without splitting a surrogate pair
+     */
+    private String truncate(String text) {
+        if (text.length() <= samplePreviewChars) {
+            return text;
+        }
+        int end = samplePreviewChars;
+        if (Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(0, end);
+    }
+
+    /**
+     * SHA-256 of the content as lowercase hex
+     */
+    private static String contentHash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     /**
      * Get all test cases for a problem in sorted order (from BST)
      * Used internally by ExecutionService
@@ -194,7 +675,20 @@ public class ProblemService {
     public List<TestCase> getTestCasesInOrder(String problemId) {
         TestCaseTree tree = testCaseTrees.get(problemId);
 
-        if (tree == null || tree.isEmpty()) {
+        if (tree == null && !judgeClusterRouter.isLocal(problemId)) {
+            // Misrouted: submissions should go to ownerOf(problemId), so read through without caching
+            log.warn("Problem {} is owned by node '{}', loading test cases from database",
+                    problemId, judgeClusterRouter.ownerOf(problemId));
+            List<TestCase> testCases = new ArrayList<>(testCaseRepository.findByProblemId(problemId));
+            testCases.sort(Comparator.comparing(TestCase::getDifficultyLevel));
+            return testCases;
+        }
+
+        if (tree == null) {
+            tree = ownedTestCaseTree(problemId);
+        }
+
+        if (tree.isEmpty()) {
             log.warn("No test cases found for problem: {}", problemId);
             return List.of();
         }
@@ -203,7 +697,7 @@ public class ProblemService {
     }
 
     /**
-     * Get test case tree for a problem
+     * Get test case tree for a problem (null when another judge node owns it)
      */
     public TestCaseTree getTestCaseTree(String problemId) {
         return testCaseTrees.get(problemId);
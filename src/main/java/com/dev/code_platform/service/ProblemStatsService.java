@@ -0,0 +1,290 @@
+package com.dev.code_platform.service;
+
+import com.dev.code_platform.datastructures.LogHistogram;
+import com.dev.code_platform.datastructures.ProblemStats;
+import com.dev.code_platform.dto.ProblemStatsResponse;
+import com.dev.code_platform.exception.ResourceNotFoundException;
+import com.dev.code_platform.snapshot.ProblemStatsCheckpoint;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-problem submission statistics held in memory and updated in O(1) as each verdict lands.
+ * Reads never touch the submissions table; the table is only scanned to bootstrap when
+ * there is no checkpoint, and to catch up on verdicts evaluated since the watermark:
+ * after a restart, and periodically for verdicts saved through other nodes.
+ */
+@Service
+@Slf4j
+public class ProblemStatsService {
+
+    public static final String ACCEPTED = "ACCEPTED";
+
+    private static final String JUDGED_SUBMISSIONS_SQL = """
+            SELECT submission_id, problem_id, status, language, runtime_ms, memory_kb, evaluated_at
+            FROM submissions
+            WHERE status NOT IN ('QUEUED', 'RUNNING')""";
+
+    // Verdict counts from partitions already rolled up and dropped
+    private static final String ROLLED_UP_COUNTS_SQL = """
+            SELECT problem_id, status, SUM(submission_count)
+            FROM submission_daily_stats
+            WHERE status NOT IN ('QUEUED', 'RUNNING')
+            GROUP BY problem_id, status""";
+
+    private final ProblemService problemService;
+    private final JdbcTemplate jdbcTemplate;
+
+    // In-memory stats: problemId -> ProblemStats
+    private final ConcurrentHashMap<String, ProblemStats> problemStats = new ConcurrentHashMap<>();
+
+    // Submissions counted close to or past the watermark: submissionId -> evaluatedAt
+    // Lets a verdict recorded locally and then seen again by the catch-up query count once
+    private final ConcurrentHashMap<String, LocalDateTime> recentlyRecorded = new ConcurrentHashMap<>();
+
+    // Every verdict evaluated at or before this time is counted; null until initialized
+    private volatile LocalDateTime watermark;
+
+    @Value("${stats.checkpoint.enabled:true}")
+    private boolean checkpointEnabled;
+
+    @Value("${stats.checkpoint.path:data/problem-stats.checkpoint}")
+    private String checkpointPath;
+
+    // How long after evaluated_at a verdict is assumed to be committed and visible to other nodes
+    @Value("${stats.catch-up.commit-margin-ms:30000}")
+    private long commitMarginMs;
+
+    @Autowired
+    public ProblemStatsService(ProblemService problemService, DataSource dataSource) {
+        this(problemService, new JdbcTemplate(dataSource));
+        this.jdbcTemplate.setFetchSize(1000);
+    }
+
+    ProblemStatsService(ProblemService problemService, JdbcTemplate jdbcTemplate) {
+        this.problemService = problemService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Restore from the last checkpoint and catch up, or bootstrap from the database
+     * Runs once the app is ready so the schema and partitions are in place
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (checkpointEnabled && restoreFromCheckpoint()) {
+            return;
+        }
+
+        log.info("Bootstrapping problem statistics from database...");
+
+        jdbcTemplate.query(ROLLED_UP_COUNTS_SQL, rs -> {
+            statsFor(rs.getString(1)).addStatusCount(rs.getString(2), rs.getLong(3));
+        });
+
+        // Rows from before evaluated_at was stamped have none; newer verdicts are left to the catch-up
+        LocalDateTime upTo = LocalDateTime.now().minus(Duration.ofMillis(commitMarginMs));
+        jdbcTemplate.query(JUDGED_SUBMISSIONS_SQL + " AND (evaluated_at IS NULL OR evaluated_at <= ?)",
+                this::recordRow,
+                Timestamp.valueOf(upTo));
+        watermark = upTo;
+
+        log.info("Problem statistics bootstrapped for {} problems", problemStats.size());
+    }
+
+    private boolean restoreFromCheckpoint() {
+        Path path = Path.of(checkpointPath);
+        if (!Files.exists(path)) {
+            log.info("No problem stats checkpoint at {}", path);
+            return false;
+        }
+
+        ProblemStatsCheckpoint checkpoint;
+        try {
+            checkpoint = ProblemStatsCheckpoint.read(path);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read problem stats checkpoint {}: {}", path, e.getMessage());
+            return false;
+        }
+
+        // Anything recorded before the restore is replaced; the catch-up counts it again
+        problemStats.clear();
+        recentlyRecorded.clear();
+        problemStats.putAll(checkpoint.getStats());
+        recentlyRecorded.putAll(checkpoint.getRecentlyRecorded());
+        watermark = checkpoint.getWatermark();
+
+        // Verdicts evaluated after the checkpoint's watermark
+        int caughtUp = catchUp();
+
+        log.info("Restored statistics for {} problems from checkpoint taken at {} ({} verdicts caught up)",
+                problemStats.size(), checkpoint.getTakenAt(), caughtUp);
+        return true;
+    }
+
+    /**
+     * Periodically pick up verdicts saved since the watermark, including those saved through other nodes
+     */
+    @Scheduled(initialDelayString = "${stats.catch-up.interval-ms:10000}",
+            fixedDelayString = "${stats.catch-up.interval-ms:10000}")
+    public void scheduledCatchUp() {
+        if (watermark != null) {
+            catchUp();
+        }
+    }
+
+    /**
+     * Count verdicts evaluated after the watermark and at least the commit margin ago, then advance
+     * the watermark; submissions already recorded are skipped. Returns the number of new verdicts
+     */
+    private synchronized int catchUp() {
+        LocalDateTime from = watermark;
+        LocalDateTime upTo = LocalDateTime.now().minus(Duration.ofMillis(commitMarginMs));
+        if (!upTo.isAfter(from)) {
+            return 0;
+        }
+
+        int[] caughtUp = {0};
+        jdbcTemplate.query(JUDGED_SUBMISSIONS_SQL + " AND evaluated_at > ? AND evaluated_at <= ?",
+                rs -> {
+                    LocalDateTime evaluatedAt = rs.getTimestamp("evaluated_at").toLocalDateTime();
+                    if (recentlyRecorded.putIfAbsent(rs.getString("submission_id"), evaluatedAt) == null) {
+                        recordRow(rs);
+                        caughtUp[0]++;
+                    }
+                },
+                Timestamp.valueOf(from), Timestamp.valueOf(upTo));
+        watermark = upTo;
+
+        // Kept one more margin, so a verdict recorded locally just as the query ran cannot count twice
+        LocalDateTime forgetBefore = upTo.minus(Duration.ofMillis(commitMarginMs));
+        recentlyRecorded.values().removeIf(evaluatedAt -> !evaluatedAt.isAfter(forgetBefore));
+
+        return caughtUp[0];
+    }
+
+    private void recordRow(ResultSet rs) throws SQLException {
+        statsFor(rs.getString("problem_id")).record(
+                rs.getString("status"),
+                rs.getString("language"),
+                rs.getObject("runtime_ms", Integer.class),
+                rs.getObject("memory_kb", Integer.class));
+    }
+
+    /**
+     * Record a judged submission, unless the catch-up already counted it
+     * Time Complexity: O(1)
+     */
+    public void recordVerdict(String submissionId, LocalDateTime evaluatedAt,
+                              String problemId, String status, String language, Integer runtimeMs, Integer memoryKb) {
+        if (recentlyRecorded.putIfAbsent(submissionId, evaluatedAt) != null) {
+            return;
+        }
+        statsFor(problemId).record(status, language, runtimeMs, memoryKb);
+    }
+
+    /**
+     * Get statistics for a problem, served entirely from memory
+     * Verdicts saved through other nodes show up after the next catch-up
+     */
+    public ProblemStatsResponse getStats(String problemId) {
+        if (!problemService.exists(problemId)) {
+            throw new ResourceNotFoundException("Problem not found: " + problemId);
+        }
+
+        ProblemStats stats = problemStats.getOrDefault(problemId, new ProblemStats());
+        Map<String, Long> statusCounts = stats.getStatusCounts();
+
+        long total = statusCounts.values().stream().mapToLong(Long::longValue).sum();
+        long accepted = statusCounts.getOrDefault(ACCEPTED, 0L);
+
+        Map<String, ProblemStatsResponse.LanguageStats> languages = new TreeMap<>();
+        stats.getRuntimeByLanguage().forEach((language, runtime) -> {
+            LogHistogram memory = stats.getMemoryByLanguage().getOrDefault(language, new LogHistogram());
+            languages.put(language, new ProblemStatsResponse.LanguageStats(
+                    runtime.getCount(),
+                    runtime.mean(), runtime.percentile(50), runtime.percentile(90), runtime.percentile(99),
+                    memory.mean(), memory.percentile(50), memory.percentile(90), memory.percentile(99)));
+        });
+
+        ProblemStatsResponse response = new ProblemStatsResponse();
+        response.setProblemId(problemId);
+        response.setTotalSubmissions(total);
+        response.setAcceptedSubmissions(accepted);
+        response.setAcceptanceRate(total > 0 ? (double) accepted / total : null);
+        response.setStatusCounts(statusCounts);
+        response.setLanguages(languages);
+
+        return response;
+    }
+
+    /**
+     * Periodically checkpoint statistics to local disk
+     */
+    @Scheduled(initialDelayString = "${stats.checkpoint.interval-ms:60000}",
+            fixedDelayString = "${stats.checkpoint.interval-ms:60000}")
+    public void scheduledCheckpoint() {
+        if (checkpointEnabled) {
+            writeCheckpoint();
+        }
+    }
+
+    /**
+     * Write a final checkpoint on graceful shutdown
+     */
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        if (checkpointEnabled) {
+            writeCheckpoint();
+        }
+    }
+
+    public void writeCheckpoint() {
+        LocalDateTime takenAt = LocalDateTime.now();
+
+        // Copied before the stats: a verdict landing during the copy may be replayed twice on restart, never dropped
+        LocalDateTime checkpointWatermark;
+        Map<String, LocalDateTime> recorded;
+        synchronized (this) {
+            checkpointWatermark = watermark;
+            recorded = Map.copyOf(recentlyRecorded);
+        }
+        if (checkpointWatermark == null) {
+            // Not initialized yet, keep the previous checkpoint
+            return;
+        }
+
+        try {
+            ProblemStatsCheckpoint.write(Path.of(checkpointPath), takenAt, checkpointWatermark, recorded,
+                    Map.copyOf(problemStats));
+            log.debug("Wrote problem stats checkpoint for {} problems", problemStats.size());
+        } catch (IOException e) {
+            log.warn("Failed to write problem stats checkpoint to {}: {}", checkpointPath, e.getMessage());
+        }
+    }
+
+    private ProblemStats statsFor(String problemId) {
+        return problemStats.computeIfAbsent(problemId, k -> new ProblemStats());
+    }
+}
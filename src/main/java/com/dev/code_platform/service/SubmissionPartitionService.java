@@ -0,0 +1,187 @@
+package com.dev.code_platform.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains monthly partitions of the submissions table:
+ * creates upcoming partitions ahead of time, and rolls expired partitions up into
+ * per-problem daily aggregates (submission_daily_stats) before dropping them.
+ */
+@Service
+@Slf4j
+public class SubmissionPartitionService {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("submissions_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    // Arbitrary constant so only one node runs maintenance at a time
+    private static final long MAINTENANCE_LOCK_KEY = 0x5355424dL;
+
+    private static final String ROLLUP_SQL = """
+            INSERT INTO submission_daily_stats
+                (problem_id, stat_date, status, submission_count, runtime_p50_ms, runtime_p90_ms, runtime_p99_ms)
+            SELECT problem_id, CAST(submitted_at AS DATE), status, COUNT(*),
+                   percentile_disc(0.50) WITHIN GROUP (ORDER BY runtime_ms),
+                   percentile_disc(0.90) WITHIN GROUP (ORDER BY runtime_ms),
+                   percentile_disc(0.99) WITHIN GROUP (ORDER BY runtime_ms)
+            FROM %s
+            GROUP BY problem_id, CAST(submitted_at AS DATE), status
+            ON CONFLICT (problem_id, stat_date, status) DO UPDATE SET
+                submission_count = EXCLUDED.submission_count,
+                runtime_p50_ms = EXCLUDED.runtime_p50_ms,
+                runtime_p90_ms = EXCLUDED.runtime_p90_ms,
+                runtime_p99_ms = EXCLUDED.runtime_p99_ms""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionMonths;
+    private final int premakeMonths;
+    private final long lockTimeoutMs;
+
+    public SubmissionPartitionService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${submissions.partition.retention-months:6}") int retentionMonths,
+            @Value("${submissions.partition.premake-months:3}") int premakeMonths,
+            @Value("${submissions.partition.lock-timeout-ms:5000}") long lockTimeoutMs) {
+
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionMonths = retentionMonths;
+        this.premakeMonths = premakeMonths;
+        this.lockTimeoutMs = lockTimeoutMs;
+    }
+
+    /**
+     * Make sure the current month's partition exists before the first submission arrives
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    /**
+     * Create upcoming partitions, then roll up and drop partitions older than the retention window
+     * Every partition gets its own short transaction: creating or dropping one locks the whole
+     * submissions table, and that lock must not be held across the other partitions' rollups
+     */
+    @Scheduled(cron = "${submissions.partition.maintenance-cron:0 15 3 * * *}")
+    public void maintainPartitions() {
+        if (!isPartitioned()) {
+            log.warn("submissions is not a partitioned table, skipping partition maintenance "
+                    + "(migrate it with db/partition_submissions.sql)");
+            return;
+        }
+
+        YearMonth current = YearMonth.now();
+
+        for (int i = 0; i <= premakeMonths; i++) {
+            YearMonth month = current.plusMonths(i);
+            runStep("create " + partitionName(month), () -> createPartition(month));
+        }
+
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        for (String partition : listPartitions()) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+
+            YearMonth month = YearMonth.parse(matcher.group(1), PARTITION_SUFFIX);
+            if (month.isBefore(oldestKept)) {
+                runStep("roll up " + partition, () -> rollUpAndDrop(partition));
+            }
+        }
+    }
+
+    /**
+     * Run one maintenance step in its own transaction, under the cluster-wide advisory lock
+     * A rollup and its drop commit together, so a failed rollup never drops its partition;
+     * a step that fails (e.g. on lock_timeout) is retried on the next run
+     */
+    private void runStep(String step, Runnable work) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Boolean locked = jdbcTemplate.queryForObject(
+                        "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, MAINTENANCE_LOCK_KEY);
+                if (!Boolean.TRUE.equals(locked)) {
+                    log.info("Partition maintenance running on another node, skipping {}", step);
+                    return;
+                }
+
+                // Give up rather than queue for the table lock: a waiting DDL blocks every query behind it
+                jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeoutMs);
+                work.run();
+            });
+        } catch (DataAccessException e) {
+            log.warn("Partition maintenance step '{}' failed, will retry on the next run: {}", step, e.getMessage());
+        }
+    }
+
+    private boolean isPartitioned() {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT relkind::text FROM pg_class WHERE relname = 'submissions'", String.class);
+        return kinds.contains("p");
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT child.relname
+                FROM pg_inherits
+                JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+                JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+                WHERE parent.relname = 'submissions'""", String.class);
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    private void createPartition(YearMonth month) {
+        // Checked first, since CREATE TABLE IF NOT EXISTS ... PARTITION OF still locks the parent
+        if (exists(partitionName(month))) {
+            return;
+        }
+
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+
+        jdbcTemplate.execute("CREATE TABLE " + partitionName(month)
+                + " PARTITION OF submissions FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+
+    private void rollUpAndDrop(String partition) {
+        // Another node may have dropped it between listing and this transaction
+        if (!exists(partition)) {
+            return;
+        }
+
+        // Partition names come from pg_class and matched PARTITION_NAME, so they are safe to inline
+        int rows = jdbcTemplate.update(ROLLUP_SQL.formatted(partition));
+        jdbcTemplate.execute("DROP TABLE " + partition);
+
+        log.info("Rolled up partition {} into {} daily stat rows and dropped it", partition, rows);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "submissions_p" + month.format(PARTITION_SUFFIX);
+    }
+}
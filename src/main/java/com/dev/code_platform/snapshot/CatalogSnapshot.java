@@ -0,0 +1,288 @@
+package com.dev.code_platform.snapshot;
+
+import com.dev.code_platform.model.Problem;
+import com.dev.code_platform.model.TestCase;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary snapshot of the problem catalog and its test cases.
+ *
+ * Layout: header (magic, version, taken-at) followed by one record per problem,
+ * each carrying its test cases in tree order (easy to hard).
+ * Strings are length-prefixed UTF-8, with -1 marking null.
+ */
+public class CatalogSnapshot {
+
+    private static final int MAGIC = 0x43415431;   // "CAT1"
+    private static final int VERSION = 1;
+
+    // A single mapping is capped at 2 GB, so larger snapshots are mapped window by window
+    private static final int MAP_WINDOW_BYTES = 256 * 1024 * 1024;
+
+    private final LocalDateTime takenAt;
+    private final List<Entry> entries;
+
+    /**
+     * A problem together with its test cases, already sorted by difficulty
+     * testCases is null when the writing node did not hold the problem's test set
+     */
+    public record Entry(Problem problem, List<TestCase> testCases) {
+    }
+
+    public CatalogSnapshot(LocalDateTime takenAt, List<Entry> entries) {
+        this.takenAt = takenAt;
+        this.entries = entries;
+    }
+
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Write the snapshot to a temp file next to the target, then atomically swap it in
+     * so a crash mid-write never leaves a truncated snapshot behind
+     */
+    public static void write(Path path, LocalDateTime takenAt, List<Entry> entries) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeTimestamp(out, takenAt);
+            out.writeInt(entries.size());
+
+            for (Entry entry : entries) {
+                writeProblem(out, entry.problem());
+
+                List<TestCase> testCases = entry.testCases();
+                if (testCases == null) {
+                    out.writeInt(-1);
+                    continue;
+                }
+                out.writeInt(testCases.size());
+                for (TestCase testCase : testCases) {
+                    writeTestCase(out, testCase);
+                }
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Memory-map and decode a snapshot file
+     * Time Complexity: O(size of snapshot), no database access
+     */
+    public static CatalogSnapshot read(Path path) throws IOException {
+        return read(path, MAP_WINDOW_BYTES);
+    }
+
+    static CatalogSnapshot read(Path path, int windowBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedReader buffer = new MappedReader(channel, windowBytes);
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a catalog snapshot: " + path);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported catalog snapshot version " + version);
+            }
+
+            LocalDateTime takenAt = readTimestamp(buffer);
+            int problemCount = buffer.getInt();
+            List<Entry> entries = new ArrayList<>(problemCount);
+
+            for (int i = 0; i < problemCount; i++) {
+                Problem problem = readProblem(buffer);
+
+                int testCaseCount = buffer.getInt();
+                if (testCaseCount < 0) {
+                    entries.add(new Entry(problem, null));
+                    continue;
+                }
+                List<TestCase> testCases = new ArrayList<>(testCaseCount);
+                for (int j = 0; j < testCaseCount; j++) {
+                    testCases.add(readTestCase(buffer));
+                }
+
+                entries.add(new Entry(problem, testCases));
+            }
+
+            return new CatalogSnapshot(takenAt, entries);
+        }
+    }
+
+    private static void writeProblem(DataOutputStream out, Problem problem) throws IOException {
+        writeString(out, problem.getProblemId());
+        writeString(out, problem.getTitle());
+        writeString(out, problem.getDescription());
+        writeString(out, problem.getDifficulty());
+        writeInteger(out, problem.getTimeLimitMs());
+        writeInteger(out, problem.getMemoryLimitMb());
+        writeTimestamp(out, problem.getCreatedAt());
+    }
+
+    private static Problem readProblem(MappedReader buffer) {
+        Problem problem = new Problem();
+        problem.setProblemId(readString(buffer));
+        problem.setTitle(readString(buffer));
+        problem.setDescription(readString(buffer));
+        problem.setDifficulty(readString(buffer));
+        problem.setTimeLimitMs(readInteger(buffer));
+        problem.setMemoryLimitMb(readInteger(buffer));
+        problem.setCreatedAt(readTimestamp(buffer));
+        return problem;
+    }
+
+    private static void writeTestCase(DataOutputStream out, TestCase testCase) throws IOException {
+        writeString(out, testCase.getTestCaseId());
+        writeString(out, testCase.getProblemId());
+        writeString(out, testCase.getInput());
+        writeString(out, testCase.getExpectedOutput());
+        writeInteger(out, testCase.getDifficultyLevel());
+        out.writeByte(testCase.getIsSample() == null ? -1 : (testCase.getIsSample() ? 1 : 0));
+        writeTimestamp(out, testCase.getCreatedAt());
+    }
+
+    private static TestCase readTestCase(MappedReader buffer) {
+        TestCase testCase = new TestCase();
+        testCase.setTestCaseId(readString(buffer));
+        testCase.setProblemId(readString(buffer));
+        testCase.setInput(readString(buffer));
+        testCase.setExpectedOutput(readString(buffer));
+        testCase.setDifficultyLevel(readInteger(buffer));
+        byte isSample = buffer.get();
+        testCase.setIsSample(isSample < 0 ? null : isSample == 1);
+        testCase.setCreatedAt(readTimestamp(buffer));
+        return testCase;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(MappedReader buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        out.writeInt(value != null ? value : 0);
+    }
+
+    private static Integer readInteger(MappedReader buffer) {
+        boolean present = buffer.get() != 0;
+        int value = buffer.getInt();
+        return present ? value : null;
+    }
+
+    /**
+     * Sequential reader over a file mapped in windows, remapping whenever the next value
+     * would run past the current window
+     */
+    private static class MappedReader {
+        private final FileChannel channel;
+        private final int windowBytes;
+        private final long fileSize;
+        private long windowStart;              // File offset of the current mapping
+        private MappedByteBuffer window;
+
+        MappedReader(FileChannel channel, int windowBytes) throws IOException {
+            this.channel = channel;
+            this.windowBytes = windowBytes;
+            this.fileSize = channel.size();
+            this.windowStart = 0;
+            this.window = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(windowBytes, fileSize));
+        }
+
+        int getInt() {
+            ensure(Integer.BYTES);
+            return window.getInt();
+        }
+
+        long getLong() {
+            ensure(Long.BYTES);
+            return window.getLong();
+        }
+
+        byte get() {
+            ensure(1);
+            return window.get();
+        }
+
+        void get(byte[] bytes) {
+            ensure(bytes.length);
+            window.get(bytes);
+        }
+
+        private void ensure(int bytes) {
+            if (window.remaining() >= bytes) {
+                return;
+            }
+
+            long position = windowStart + window.position();
+            if (position + bytes > fileSize) {
+                throw new BufferUnderflowException();
+            }
+
+            // A value larger than the window (e.g. a huge test input) gets a mapping of its own size
+            long size = Math.min(Math.max(windowBytes, bytes), fileSize - position);
+            try {
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            windowStart = position;
+        }
+    }
+
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeLong(time == null ? Long.MIN_VALUE : time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time == null ? 0 : time.getNano());
+    }
+
+    private static LocalDateTime readTimestamp(MappedReader buffer) {
+        long epochSecond = buffer.getLong();
+        int nano = buffer.getInt();
+        return epochSecond == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,213 @@
+package com.dev.code_platform.snapshot;
+
+import com.dev.code_platform.datastructures.LogHistogram;
+import com.dev.code_platform.datastructures.ProblemStats;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binary checkpoint of in-memory problem statistics.
+ *
+ * Layout: header (magic, version, taken-at, catch-up watermark), the submissions recorded
+ * past the watermark, then one record per problem with its verdict counts and per-language
+ * runtime/memory histograms (non-empty buckets only).
+ */
+public class ProblemStatsCheckpoint {
+
+    private static final int MAGIC = 0x50535431;   // "PST1"
+    private static final int VERSION = 2;
+
+    private final LocalDateTime takenAt;
+    private final LocalDateTime watermark;
+    private final Map<String, LocalDateTime> recentlyRecorded;
+    private final Map<String, ProblemStats> stats;
+
+    public ProblemStatsCheckpoint(LocalDateTime takenAt, LocalDateTime watermark,
+                                  Map<String, LocalDateTime> recentlyRecorded, Map<String, ProblemStats> stats) {
+        this.takenAt = takenAt;
+        this.watermark = watermark;
+        this.recentlyRecorded = recentlyRecorded;
+        this.stats = stats;
+    }
+
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+
+    /**
+     * Every verdict evaluated at or before this time is counted in the stats
+     */
+    public LocalDateTime getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Submissions already counted, by submission id -> evaluated-at, that the catch-up must skip
+     */
+    public Map<String, LocalDateTime> getRecentlyRecorded() {
+        return recentlyRecorded;
+    }
+
+    public Map<String, ProblemStats> getStats() {
+        return stats;
+    }
+
+    /**
+     * Write the checkpoint to a temp file next to the target, then atomically swap it in
+     */
+    public static void write(Path path, LocalDateTime takenAt, LocalDateTime watermark,
+                             Map<String, LocalDateTime> recentlyRecorded, Map<String, ProblemStats> stats) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeTimestamp(out, takenAt);
+            writeTimestamp(out, watermark);
+
+            out.writeInt(recentlyRecorded.size());
+            for (Map.Entry<String, LocalDateTime> recorded : recentlyRecorded.entrySet()) {
+                out.writeUTF(recorded.getKey());
+                writeTimestamp(out, recorded.getValue());
+            }
+
+            out.writeInt(stats.size());
+
+            for (Map.Entry<String, ProblemStats> entry : stats.entrySet()) {
+                out.writeUTF(entry.getKey());
+                ProblemStats problemStats = entry.getValue();
+
+                Map<String, Long> statusCounts = problemStats.getStatusCounts();
+                out.writeInt(statusCounts.size());
+                for (Map.Entry<String, Long> status : statusCounts.entrySet()) {
+                    out.writeUTF(status.getKey());
+                    out.writeLong(status.getValue());
+                }
+
+                writeHistograms(out, problemStats.getRuntimeByLanguage());
+                writeHistograms(out, problemStats.getMemoryByLanguage());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read a checkpoint file back into fresh ProblemStats
+     */
+    public static ProblemStatsCheckpoint read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path), 64 * 1024))) {
+
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a problem stats checkpoint: " + path);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported problem stats checkpoint version " + version);
+            }
+
+            LocalDateTime takenAt = readTimestamp(in);
+            LocalDateTime watermark = readTimestamp(in);
+
+            int recordedCount = in.readInt();
+            Map<String, LocalDateTime> recentlyRecorded = new HashMap<>(recordedCount * 2);
+            for (int i = 0; i < recordedCount; i++) {
+                recentlyRecorded.put(in.readUTF(), readTimestamp(in));
+            }
+
+            int problemCount = in.readInt();
+            Map<String, ProblemStats> stats = new HashMap<>(problemCount * 2);
+
+            for (int i = 0; i < problemCount; i++) {
+                String problemId = in.readUTF();
+                ProblemStats problemStats = new ProblemStats();
+
+                int statusCount = in.readInt();
+                for (int j = 0; j < statusCount; j++) {
+                    problemStats.addStatusCount(in.readUTF(), in.readLong());
+                }
+
+                int runtimeLanguages = in.readInt();
+                for (int j = 0; j < runtimeLanguages; j++) {
+                    readHistogram(in, problemStats.runtimeHistogram(in.readUTF()));
+                }
+
+                int memoryLanguages = in.readInt();
+                for (int j = 0; j < memoryLanguages; j++) {
+                    readHistogram(in, problemStats.memoryHistogram(in.readUTF()));
+                }
+
+                stats.put(problemId, problemStats);
+            }
+
+            return new ProblemStatsCheckpoint(takenAt, watermark, recentlyRecorded, stats);
+        }
+    }
+
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTimestamp(DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    private static void writeHistograms(DataOutputStream out, Map<String, LogHistogram> byLanguage) throws IOException {
+        // Copy first so the count written matches the entries that follow under concurrent inserts
+        Map<String, LogHistogram> histograms = Map.copyOf(byLanguage);
+        out.writeInt(histograms.size());
+
+        for (Map.Entry<String, LogHistogram> entry : histograms.entrySet()) {
+            out.writeUTF(entry.getKey());
+
+            int[] buckets = entry.getValue().bucketCounts();
+            long sum = entry.getValue().getSum();
+            int nonEmpty = 0;
+            for (int bucket : buckets) {
+                if (bucket != 0) {
+                    nonEmpty++;
+                }
+            }
+
+            out.writeLong(sum);
+            out.writeInt(nonEmpty);
+            for (int i = 0; i < buckets.length; i++) {
+                if (buckets[i] != 0) {
+                    out.writeShort(i);
+                    out.writeInt(buckets[i]);
+                }
+            }
+        }
+    }
+
+    private static void readHistogram(DataInputStream in, LogHistogram histogram) throws IOException {
+        long sum = in.readLong();
+        int nonEmpty = in.readInt();
+
+        int[] buckets = new int[LogHistogram.BUCKET_COUNT];
+        for (int i = 0; i < nonEmpty; i++) {
+            buckets[in.readUnsignedShort()] = in.readInt();
+        }
+
+        histogram.merge(buckets, sum);
+    }
+}
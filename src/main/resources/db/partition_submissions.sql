@@ -0,0 +1,61 @@
+-- One-off migration: convert an existing, unpartitioned submissions table into the
+-- monthly-partitioned layout of schema.sql, keeping every row.
+--
+-- Stop the application (or at least all submission writes) first, then run from this directory:
+--   psql -v ON_ERROR_STOP=1 -d code_platform -f partition_submissions.sql
+-- and apply schema.sql afterwards; its IF NOT EXISTS statements add the new indexes
+-- and submission_daily_stats. The old table is kept as submissions_unpartitioned
+-- until you drop it.
+
+BEGIN;
+
+-- Move the old table and its index names out of the way
+ALTER TABLE submissions RENAME TO submissions_unpartitioned;
+ALTER TABLE submissions_unpartitioned RENAME CONSTRAINT submissions_pkey TO submissions_unpartitioned_pkey;
+ALTER INDEX IF EXISTS idx_submissions_problem RENAME TO idx_submissions_unpartitioned_problem;
+ALTER INDEX IF EXISTS idx_submissions_status RENAME TO idx_submissions_unpartitioned_status;
+
+-- Same definition as schema.sql
+CREATE TABLE submissions (
+    submission_id VARCHAR(100) NOT NULL,
+    problem_id VARCHAR(100) NOT NULL,
+    code TEXT NOT NULL,
+    language VARCHAR(20) NOT NULL,
+    status VARCHAR(50) DEFAULT 'QUEUED',
+    runtime_ms INTEGER,
+    memory_kb INTEGER,
+    test_cases_passed INTEGER DEFAULT 0,
+    total_test_cases INTEGER DEFAULT 0,
+    error_message TEXT,
+    submitted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    evaluated_at TIMESTAMP,
+    PRIMARY KEY (submission_id, submitted_at),
+    FOREIGN KEY (problem_id) REFERENCES problems(problem_id)
+) PARTITION BY RANGE (submitted_at);
+
+-- One partition per month from the oldest row through three months ahead
+-- (partitions past the retention window are rolled up and dropped by the next maintenance run)
+DO $$
+DECLARE
+    month DATE;
+    last_month DATE := (date_trunc('month', now()) + INTERVAL '3 months')::date;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(submitted_at), now()))::date INTO month
+    FROM submissions_unpartitioned;
+
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE submissions_p%s PARTITION OF submissions FOR VALUES FROM (%L) TO (%L)',
+                       to_char(month, 'YYYYMM'), month, (month + INTERVAL '1 month')::date);
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- submitted_at was nullable before; rows without one are filed under the migration time
+INSERT INTO submissions (submission_id, problem_id, code, language, status, runtime_ms, memory_kb,
+                         test_cases_passed, total_test_cases, error_message, submitted_at, evaluated_at)
+SELECT submission_id, problem_id, code, language, status, runtime_ms, memory_kb,
+       test_cases_passed, total_test_cases, error_message,
+       COALESCE(submitted_at, CURRENT_TIMESTAMP), evaluated_at
+FROM submissions_unpartitioned;
+
+COMMIT;
@@ -22,8 +22,11 @@ CREATE TABLE IF NOT EXISTS test_cases (
 );
 
 -- Submissions Table
+-- Range-partitioned by submitted_at, one partition per month (submissions_pYYYYMM).
+-- SubmissionPartitionService creates partitions ahead of time, and rolls expired ones
+-- up into submission_daily_stats before dropping them.
 CREATE TABLE IF NOT EXISTS submissions (
-    submission_id VARCHAR(100) PRIMARY KEY,
+    submission_id VARCHAR(100) NOT NULL,
     problem_id VARCHAR(100) NOT NULL,
     code TEXT NOT NULL,
     language VARCHAR(20) NOT NULL,
@@ -33,12 +36,28 @@ CREATE TABLE IF NOT EXISTS submissions (
     test_cases_passed INTEGER DEFAULT 0,
     total_test_cases INTEGER DEFAULT 0,
     error_message TEXT,
-    submitted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    submitted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     evaluated_at TIMESTAMP,
+    PRIMARY KEY (submission_id, submitted_at),
     FOREIGN KEY (problem_id) REFERENCES problems(problem_id)
+) PARTITION BY RANGE (submitted_at);
+
+-- Daily Submission Rollups (one row per problem, day and verdict, from expired partitions)
+CREATE TABLE IF NOT EXISTS submission_daily_stats (
+    problem_id VARCHAR(100) NOT NULL,
+    stat_date DATE NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    submission_count BIGINT NOT NULL,
+    runtime_p50_ms INTEGER,
+    runtime_p90_ms INTEGER,
+    runtime_p99_ms INTEGER,
+    PRIMARY KEY (problem_id, stat_date, status)
 );
 
 -- Indexes for Performance
 CREATE INDEX IF NOT EXISTS idx_submissions_problem ON submissions(problem_id);
-CREATE INDEX IF NOT EXISTS idx_submissions_status ON submissions(status);
-CREATE INDEX IF NOT EXISTS idx_testcases_problem ON test_cases(problem_id);
\ No newline at end of file
+CREATE INDEX IF NOT EXISTS idx_submissions_problem_status_runtime ON submissions(problem_id, status, runtime_ms);
+CREATE INDEX IF NOT EXISTS idx_submissions_evaluated_at ON submissions(evaluated_at);
+CREATE INDEX IF NOT EXISTS idx_testcases_problem ON test_cases(problem_id);
+CREATE INDEX IF NOT EXISTS idx_problems_created_at ON problems(created_at);
+CREATE INDEX IF NOT EXISTS idx_testcases_created_at ON test_cases(created_at);
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.dev.code_platform.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Routing of transactions between primary and replica
+ */
+class ReadWriteRoutingDataSourceTest {
+
+	private final ReplicaLagGuard lagGuard = mock(ReplicaLagGuard.class);
+	private final ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(lagGuard);
+
+	@AfterEach
+	void clearTransactionState() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+	}
+
+	private void inTransaction(boolean readOnly) {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+	}
+
+	@Test
+	void readOnlyTransactionGoesToReplica() {
+		when(lagGuard.isReplicaUsable()).thenReturn(true);
+		inTransaction(true);
+
+		assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.REPLICA);
+	}
+
+	@Test
+	void readOnlyTransactionFallsBackToPrimaryWhenReplicaUnusable() {
+		when(lagGuard.isReplicaUsable()).thenReturn(false);
+		inTransaction(true);
+
+		assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+	}
+
+	@Test
+	void readWriteTransactionGoesToPrimary() {
+		when(lagGuard.isReplicaUsable()).thenReturn(true);
+		inTransaction(false);
+
+		assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+	}
+
+	@Test
+	void noTransactionGoesToPrimary() {
+		when(lagGuard.isReplicaUsable()).thenReturn(true);
+
+		assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+	}
+
+	@Test
+	void connectionComesFromRoutedDataSource() throws Exception {
+		DataSource primary = mock(DataSource.class);
+		DataSource replica = mock(DataSource.class);
+		Connection primaryConnection = mock(Connection.class);
+		Connection replicaConnection = mock(Connection.class);
+		when(primary.getConnection()).thenReturn(primaryConnection);
+		when(replica.getConnection()).thenReturn(replicaConnection);
+		routing.setTargetDataSources(Map.of(
+				ReadWriteRoutingDataSource.PRIMARY, primary,
+				ReadWriteRoutingDataSource.REPLICA, replica));
+		routing.setDefaultTargetDataSource(primary);
+		routing.afterPropertiesSet();
+
+		when(lagGuard.isReplicaUsable()).thenReturn(true);
+		inTransaction(true);
+		assertThat(routing.getConnection()).isSameAs(replicaConnection);
+
+		when(lagGuard.isReplicaUsable()).thenReturn(false);
+		assertThat(routing.getConnection()).isSameAs(primaryConnection);
+	}
+}
@@ -0,0 +1,82 @@
+package com.dev.code_platform.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replica rotation by measured lag
+ */
+class ReplicaLagGuardTest {
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final ReplicaLagGuard guard = new ReplicaLagGuard(jdbcTemplate, 500);
+
+	private void lag(Double lagMs) {
+		when(jdbcTemplate.queryForObject(anyString(), eq(Double.class))).thenReturn(lagMs);
+	}
+
+	@Test
+	void notUsableBeforeFirstCheck() {
+		assertThat(guard.isReplicaUsable()).isFalse();
+	}
+
+	@Test
+	void usableWithinLagLimit() {
+		lag(0.0);
+		guard.checkLag();
+		assertThat(guard.isReplicaUsable()).isTrue();
+
+		lag(500.0);
+		guard.checkLag();
+		assertThat(guard.isReplicaUsable()).isTrue();
+	}
+
+	@Test
+	void outOfRotationWhenLagTooHigh() {
+		lag(0.0);
+		guard.checkLag();
+
+		lag(501.0);
+		guard.checkLag();
+
+		assertThat(guard.isReplicaUsable()).isFalse();
+	}
+
+	@Test
+	void outOfRotationWhenLagUnknown() {
+		lag(null);
+		guard.checkLag();
+
+		assertThat(guard.isReplicaUsable()).isFalse();
+	}
+
+	@Test
+	void outOfRotationWhenUnreachable() {
+		lag(0.0);
+		guard.checkLag();
+
+		when(jdbcTemplate.queryForObject(anyString(), eq(Double.class)))
+				.thenThrow(new DataAccessResourceFailureException("connection refused"));
+		guard.checkLag();
+
+		assertThat(guard.isReplicaUsable()).isFalse();
+	}
+
+	@Test
+	void backInRotationOnceCaughtUp() {
+		lag(10_000.0);
+		guard.checkLag();
+		assertThat(guard.isReplicaUsable()).isFalse();
+
+		lag(20.0);
+		guard.checkLag();
+		assertThat(guard.isReplicaUsable()).isTrue();
+	}
+}
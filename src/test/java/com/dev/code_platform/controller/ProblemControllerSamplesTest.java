@@ -0,0 +1,116 @@
+package com.dev.code_platform.controller;
+
+import com.dev.code_platform.dto.SamplePayload;
+import com.dev.code_platform.exception.ResourceNotFoundException;
+import com.dev.code_platform.service.ProblemService;
+import com.dev.code_platform.service.ProblemStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ProblemController.class)
+class ProblemControllerSamplesTest {
+
+	private static final String URL = "/api/problems/two-sum/samples/tc-1/input";
+	private static final String LARGE = "1 2 3 4 5 6 7 8 9\n".repeat(100);   // 1800 bytes, worth compressing
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@MockitoBean
+	ProblemService problemService;
+
+	@MockitoBean
+	ProblemStatsService problemStatsService;
+
+	private void serve(String content) {
+		when(problemService.getSamplePayload("two-sum", "tc-1", "input"))
+				.thenReturn(new SamplePayload(content.getBytes(StandardCharsets.UTF_8), "hash-1"));
+	}
+
+	@Test
+	void servesWholeBodyWithContentHashETag() throws Exception {
+		serve(LARGE);
+
+		mockMvc.perform(get(URL))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"hash-1\""))
+				.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+				.andExpect(content().string(LARGE));
+	}
+
+	@Test
+	void gzipsWholeBodyWithItsOwnETag() throws Exception {
+		serve(LARGE);
+
+		MvcResult result = mockMvc.perform(get(URL).header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+				.andExpect(header().string(HttpHeaders.ETAG, "\"hash-1-gzip\""))
+				.andReturn();
+
+		byte[] body = result.getResponse().getContentAsByteArray();
+		assertThat(body.length).isLessThan(LARGE.length());
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+			assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(LARGE);
+		}
+	}
+
+	@Test
+	void leavesSmallPayloadsUncompressed() throws Exception {
+		serve("1 2\n");
+
+		mockMvc.perform(get(URL).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+				.andExpect(header().string(HttpHeaders.ETAG, "\"hash-1\""))
+				.andExpect(content().string("1 2\n"));
+	}
+
+	@Test
+	void servesRangeOfRawPayloadEvenWhenGzipIsAccepted() throws Exception {
+		serve(LARGE);
+
+		mockMvc.perform(get(URL)
+						.header(HttpHeaders.RANGE, "bytes=2-6")
+						.header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-6/" + LARGE.length()))
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+				.andExpect(header().string(HttpHeaders.ETAG, "\"hash-1\""))
+				.andExpect(content().string(LARGE.substring(2, 7)));
+	}
+
+	@Test
+	void answersNotModifiedForMatchingETag() throws Exception {
+		serve(LARGE);
+
+		mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, "\"hash-1\""))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void mapsMissingSamplesToNotFound() throws Exception {
+		when(problemService.getSamplePayload("two-sum", "hidden", "input"))
+				.thenThrow(new ResourceNotFoundException("Sample test case not found: hidden in problem two-sum"));
+
+		mockMvc.perform(get("/api/problems/two-sum/samples/hidden/input"))
+				.andExpect(status().isNotFound());
+	}
+}
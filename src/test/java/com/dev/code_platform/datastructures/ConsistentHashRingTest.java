@@ -0,0 +1,83 @@
+package com.dev.code_platform.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+	private static final int PROBLEMS = 10_000;
+
+	private static ConsistentHashRing<String> ringOf(String... nodes) {
+		ConsistentHashRing<String> ring = new ConsistentHashRing<>(128);
+		for (String node : nodes) {
+			ring.addNode(node);
+		}
+		return ring;
+	}
+
+	private static Map<String, String> owners(ConsistentHashRing<String> ring) {
+		Map<String, String> owners = new HashMap<>();
+		for (int i = 0; i < PROBLEMS; i++) {
+			owners.put("problem-" + i, ring.getNode("problem-" + i));
+		}
+		return owners;
+	}
+
+	@Test
+	void spreadsProblemsEvenlyAcrossNodes() {
+		Map<String, String> owners = owners(ringOf("judge-1", "judge-2", "judge-3", "judge-4"));
+
+		Map<String, Integer> perNode = new HashMap<>();
+		owners.values().forEach(node -> perNode.merge(node, 1, Integer::sum));
+
+		assertThat(perNode).hasSize(4);
+		perNode.values().forEach(count -> assertThat(count).isBetween(PROBLEMS / 4 * 7 / 10, PROBLEMS / 4 * 13 / 10));
+	}
+
+	@Test
+	void joiningNodeOnlyTakesProblemsForItself() {
+		ConsistentHashRing<String> ring = ringOf("judge-1", "judge-2", "judge-3", "judge-4");
+		Map<String, String> before = owners(ring);
+
+		ring.addNode("judge-5");
+		Map<String, String> after = owners(ring);
+
+		int moved = 0;
+		for (String problemId : before.keySet()) {
+			if (!before.get(problemId).equals(after.get(problemId))) {
+				assertThat(after.get(problemId)).isEqualTo("judge-5");
+				moved++;
+			}
+		}
+		assertThat(moved).isBetween(PROBLEMS / 10, PROBLEMS * 3 / 10);
+	}
+
+	@Test
+	void leavingNodeOnlyGivesUpItsOwnProblems() {
+		ConsistentHashRing<String> ring = ringOf("judge-1", "judge-2", "judge-3", "judge-4");
+		Map<String, String> before = owners(ring);
+
+		ring.removeNode("judge-3");
+		Map<String, String> after = owners(ring);
+
+		for (String problemId : before.keySet()) {
+			if (before.get(problemId).equals("judge-3")) {
+				assertThat(after.get(problemId)).isNotEqualTo("judge-3");
+			} else {
+				assertThat(after.get(problemId)).isEqualTo(before.get(problemId));
+			}
+		}
+	}
+
+	@Test
+	void emptyRingHasNoOwner() {
+		ConsistentHashRing<String> ring = ringOf();
+
+		assertThat(ring.isEmpty()).isTrue();
+		assertThat(ring.getNode("two-sum")).isNull();
+	}
+}
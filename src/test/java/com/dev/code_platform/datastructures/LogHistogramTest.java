@@ -0,0 +1,89 @@
+package com.dev.code_platform.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogHistogramTest {
+
+	private static long single(long value) {
+		LogHistogram histogram = new LogHistogram();
+		histogram.record(value);
+		return histogram.percentile(50);
+	}
+
+	@Test
+	void reportsNothingWhenEmpty() {
+		LogHistogram histogram = new LogHistogram();
+
+		assertThat(histogram.percentile(50)).isNull();
+		assertThat(histogram.mean()).isNull();
+		assertThat(histogram.getCount()).isZero();
+	}
+
+	@Test
+	void smallValuesAreExact() {
+		for (long value = 0; value < 32; value++) {
+			assertThat(single(value)).isEqualTo(value);
+		}
+		assertThat(single(-5)).isZero();
+	}
+
+	@Test
+	void largerValuesReportTheirBucketMidpointWithinThreePercent() {
+		// 32 is the first log bucket: [32, 34), midpoint 33
+		assertThat(single(32)).isEqualTo(33);
+		assertThat(single(33)).isEqualTo(33);
+		assertThat(single(34)).isEqualTo(35);
+
+		// Each power of two starts a bucket one-sixteenth of it wide
+		assertThat(single(1024)).isEqualTo(1024 + 32);
+		assertThat(single(1024 + 63)).isEqualTo(1024 + 32);
+		assertThat(single(1024 + 64)).isEqualTo(1024 + 64 + 32);
+
+		for (long value = 32; value < (1 << 24); value = value * 5 / 4 + 1) {
+			assertThat(Math.abs(single(value) - value)).isLessThanOrEqualTo(value / 32);
+		}
+	}
+
+	@Test
+	void valuesFromTwoToTheTwentyFourShareTheLastBucket() {
+		long last = single((1 << 24) - 1);
+
+		assertThat(single(1 << 24)).isEqualTo(last);
+		assertThat(single(1L << 40)).isEqualTo(last);
+		assertThat(single((1 << 24) - (1 << 19) - 1)).isLessThan(last);
+	}
+
+	@Test
+	void percentilesRankAcrossBuckets() {
+		LogHistogram histogram = new LogHistogram();
+		for (int value = 1; value <= 1000; value++) {
+			histogram.record(value);
+		}
+
+		assertThat(histogram.getCount()).isEqualTo(1000);
+		assertThat(histogram.getSum()).isEqualTo(500_500);
+		assertThat(histogram.mean()).isEqualTo(500.5);
+		assertThat(histogram.percentile(0)).isEqualTo(1);
+		assertThat(histogram.percentile(50)).isBetween(485L, 515L);
+		assertThat(histogram.percentile(90)).isBetween(873L, 927L);
+		assertThat(histogram.percentile(100)).isBetween(970L, 1030L);
+	}
+
+	@Test
+	void mergeAddsBucketCountsAndSum() {
+		LogHistogram source = new LogHistogram();
+		source.record(10);
+		source.record(2000);
+
+		LogHistogram target = new LogHistogram();
+		target.record(10);
+		target.merge(source.bucketCounts(), source.getSum());
+
+		assertThat(target.getCount()).isEqualTo(3);
+		assertThat(target.getSum()).isEqualTo(2020);
+		assertThat(target.bucketCounts()[10]).isEqualTo(2);
+		assertThat(target.percentile(100)).isEqualTo(single(2000));
+	}
+}
@@ -0,0 +1,81 @@
+package com.dev.code_platform.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProblemSearchIndexTest {
+
+	private static ProblemSearchIndex sampleIndex() {
+		ProblemSearchIndex index = new ProblemSearchIndex();
+		index.add("two-sum", "Two Sum", "Given an array of integers, return indices of the two numbers that add up to a target.", "EASY");
+		index.add("three-sum", "Three Sum", "Find all unique triplets in the array which give the sum of zero.", "MEDIUM");
+		index.add("median-of-two-sorted-arrays", "Median of Two Sorted Arrays", "Return the median of two sorted arrays.", "HARD");
+		index.add("valid-parentheses", "Valid Parentheses", "Determine if the input string of brackets is valid.", "EASY");
+		return index;
+	}
+
+	@Test
+	void ranksTitleMatchesAboveDescriptionMatches() {
+		ProblemSearchIndex index = sampleIndex();
+		// "interval" appears once in each: in the title of the longer document, in the description of the shorter one
+		index.add("interval-scheduling", "Interval Scheduling", "Pick the most meetings that fit in one room.", "MEDIUM");
+		index.add("meeting-rooms", "Meeting Rooms", "Book each interval.", "MEDIUM");
+
+		assertThat(index.search("interval", null, 10))
+				.containsExactly("interval-scheduling", "meeting-rooms");
+
+		assertThat(index.search("two sum", null, 10))
+				.first().isEqualTo("two-sum");
+	}
+
+	@Test
+	void filtersByDifficulty() {
+		assertThat(sampleIndex().search("two", "hard", 10))
+				.containsExactly("median-of-two-sorted-arrays");
+	}
+
+	@Test
+	void blankDifficultyMeansNoFilter() {
+		ProblemSearchIndex index = sampleIndex();
+
+		assertThat(index.search("sum", "", 10))
+				.containsExactlyInAnyOrder("two-sum", "three-sum");
+		assertThat(index.search("sum", "  ", 10))
+				.containsExactlyInAnyOrder("two-sum", "three-sum");
+	}
+
+	@Test
+	void limitsResultsAndIgnoresUnknownTerms() {
+		ProblemSearchIndex index = sampleIndex();
+
+		assertThat(index.search("array", null, 1)).hasSize(1);
+		assertThat(index.search("graph", null, 10)).isEmpty();
+		assertThat(index.search("the of", null, 10)).isEmpty();
+	}
+
+	@Test
+	void skipsProblemsAlreadyIndexed() {
+		ProblemSearchIndex index = sampleIndex();
+		index.add("two-sum", "Two Sum", "Duplicate entry", "EASY");
+
+		assertThat(index.size()).isEqualTo(4);
+		assertThat(index.search("duplicate", null, 10)).isEmpty();
+	}
+
+	@Test
+	void scoresOnlyMatchingProblemsAndBreaksTiesByIndexOrder() {
+		ProblemSearchIndex index = new ProblemSearchIndex();
+		for (int i = 0; i < 500; i++) {
+			index.add("filler-" + i, "Filler " + i, "Nothing to see here.", "EASY");
+		}
+		// Identical text, so identical scores: the problem indexed first ranks first
+		index.add("graph-b", "Graph", "Walk the graph.", "MEDIUM");
+		index.add("graph-a", "Graph", "Walk the graph.", "MEDIUM");
+		index.add("graph-c", "Graph", "Walk the graph.", "MEDIUM");
+
+		assertThat(index.search("graph", null, 10)).containsExactly("graph-b", "graph-a", "graph-c");
+		assertThat(index.search("graph", null, 2)).containsExactly("graph-b", "graph-a");
+		assertThat(index.search("graph", "easy", 10)).isEmpty();
+	}
+}
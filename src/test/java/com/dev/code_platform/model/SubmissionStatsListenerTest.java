@@ -0,0 +1,77 @@
+package com.dev.code_platform.model;
+
+import com.dev.code_platform.service.ProblemStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SubmissionStatsListenerTest {
+
+	private final ProblemStatsService statsService = mock(ProblemStatsService.class);
+	private final SubmissionStatsListener listener;
+
+	@SuppressWarnings("unchecked")
+	SubmissionStatsListenerTest() {
+		ObjectProvider<ProblemStatsService> provider = mock(ObjectProvider.class);
+		when(provider.getObject()).thenReturn(statsService);
+		listener = new SubmissionStatsListener(provider);
+	}
+
+	private static Submission submission(String status, LocalDateTime evaluatedAt) {
+		Submission submission = new Submission();
+		submission.setSubmissionId("sub-1");
+		submission.setProblemId("two-sum");
+		submission.setLanguage("java");
+		submission.setStatus(status);
+		submission.setRuntimeMs(120);
+		submission.setEvaluatedAt(evaluatedAt);
+		return submission;
+	}
+
+	/**
+	 * Save with a new status in its own transaction, as the judge does: stamp, then notify
+	 */
+	private void save(Submission submission, String status) {
+		submission.setStatus(status);
+		submission.onUpdate();
+		listener.onSave(submission);
+	}
+
+	@Test
+	void countsTheFirstVerdictOnce() {
+		Submission submission = submission("QUEUED", null);
+		listener.onLoad(submission);
+
+		save(submission, "RUNNING");
+		save(submission, "ACCEPTED");
+		save(submission, "ACCEPTED");
+
+		verify(statsService, times(1)).recordVerdict(
+				any(), any(), anyString(), anyString(), anyString(), any(), any());
+	}
+
+	@Test
+	void rejudgeThroughQueuedIsNotCountedAgain() {
+		// First transaction: reset a judged submission for a rejudge
+		Submission reset = submission("ACCEPTED", LocalDateTime.now().minusDays(1));
+		listener.onLoad(reset);
+		save(reset, "QUEUED");
+
+		// Second transaction: reloaded while RUNNING, then the new verdict is saved
+		Submission rejudged = submission("RUNNING", reset.getEvaluatedAt());
+		listener.onLoad(rejudged);
+		save(rejudged, "WRONG_ANSWER");
+
+		verify(statsService, never()).recordVerdict(
+				any(), any(), anyString(), anyString(), anyString(), any(), any());
+	}
+}
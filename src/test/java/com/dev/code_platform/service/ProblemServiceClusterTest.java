@@ -0,0 +1,235 @@
+package com.dev.code_platform.service;
+
+import com.dev.code_platform.cluster.JudgeClusterRouter;
+import com.dev.code_platform.cluster.JudgeRingChangedEvent;
+import com.dev.code_platform.dto.TestCaseRequest;
+import com.dev.code_platform.model.Problem;
+import com.dev.code_platform.model.TestCase;
+import com.dev.code_platform.repository.ProblemRepository;
+import com.dev.code_platform.repository.TestCaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Several judge nodes in one JVM, sharing one (mocked) database
+ */
+class ProblemServiceClusterTest {
+
+	private static final List<String> NODES = List.of("judge-1", "judge-2", "judge-3");
+	private static final int PROBLEMS = 200;
+
+	private final ProblemRepository problemRepository = mock(ProblemRepository.class);
+	private final TestCaseRepository testCaseRepository = mock(TestCaseRepository.class);
+
+	// The shared database: problemId -> test cases
+	private final Map<String, List<TestCase>> database = new ConcurrentHashMap<>();
+
+	private final Map<String, JudgeClusterRouter> routers = new LinkedHashMap<>();
+	private final Map<String, ProblemService> services = new LinkedHashMap<>();
+
+	@BeforeEach
+	void setUp() {
+		List<Problem> problems = new ArrayList<>();
+		for (int i = 0; i < PROBLEMS; i++) {
+			String problemId = "problem-" + i;
+			problems.add(new Problem(problemId, "Problem " + i, "", "EASY", 2000, 256, null));
+			database.put(problemId, new ArrayList<>(List.of(
+					new TestCase(problemId + "-a", problemId, "1", "1", 1, false, null),
+					new TestCase(problemId + "-b", problemId, "2", "2", 2, false, null))));
+		}
+
+		when(problemRepository.findAll()).thenReturn(problems);
+		when(problemRepository.existsByProblemId(anyString())).thenReturn(true);
+		when(testCaseRepository.findByProblemId(anyString())).thenAnswer(invocation ->
+				List.copyOf(database.getOrDefault(invocation.<String>getArgument(0), List.of())));
+		when(testCaseRepository.save(any(TestCase.class))).thenAnswer(invocation -> {
+			TestCase testCase = invocation.getArgument(0);
+			testCase.setCreatedAt(LocalDateTime.now());
+			database.computeIfAbsent(testCase.getProblemId(), k -> new ArrayList<>()).add(testCase);
+			return testCase;
+		});
+
+		when(testCaseRepository.findByCreatedAtAfter(any(LocalDateTime.class))).thenAnswer(invocation -> {
+			LocalDateTime since = invocation.getArgument(0);
+			return database.values().stream()
+					.flatMap(List::stream)
+					.filter(testCase -> testCase.getCreatedAt() != null && testCase.getCreatedAt().isAfter(since))
+					.toList();
+		});
+
+		for (String node : NODES) {
+			startNode(node, NODES);
+		}
+	}
+
+	private void startNode(String nodeId, List<String> members) {
+		ProblemService[] service = new ProblemService[1];
+		JudgeClusterRouter router = new JudgeClusterRouter(nodeId, members, 64,
+				event -> service[0].onJudgeRingChanged((JudgeRingChangedEvent) event));
+		service[0] = new ProblemService(problemRepository, testCaseRepository, router,
+				new StubTransactionManager());
+		ReflectionTestUtils.setField(service[0], "samplePreviewTtlMs", 30_000L);
+		ReflectionTestUtils.setField(service[0], "catchUpOverlapMs", 60_000L);
+		service[0].initialize();
+
+		routers.put(nodeId, router);
+		services.put(nodeId, service[0]);
+	}
+
+	private String holderOf(String problemId) {
+		String holder = null;
+		for (Map.Entry<String, ProblemService> node : services.entrySet()) {
+			if (node.getValue().getTestCaseTree(problemId) != null) {
+				assertThat(holder).as("%s held by more than one node", problemId).isNull();
+				holder = node.getKey();
+			}
+		}
+		return holder;
+	}
+
+	@Test
+	void eachProblemIsWarmedOnlyOnItsOwner() {
+		for (int i = 0; i < PROBLEMS; i++) {
+			String problemId = "problem-" + i;
+			String owner = routers.get("judge-1").ownerOf(problemId);
+
+			assertThat(holderOf(problemId)).isEqualTo(owner);
+			assertThat(services.get(owner).getTestCaseTree(problemId).getCount()).isEqualTo(2);
+		}
+	}
+
+	@Test
+	void joinDropsOnlyProblemsMovingToNewNodeAndLeaveWarmsThemBack() {
+		Map<String, String> before = new LinkedHashMap<>();
+		for (int i = 0; i < PROBLEMS; i++) {
+			before.put("problem-" + i, holderOf("problem-" + i));
+		}
+
+		startNode("judge-4", List.of("judge-1", "judge-2", "judge-3", "judge-4"));
+		clearInvocations(testCaseRepository);
+		for (String node : NODES) {
+			routers.get(node).nodeJoined("judge-4");
+		}
+
+		// Existing nodes only give problems up; nothing is reloaded
+		verify(testCaseRepository, never()).findByProblemId(anyString());
+
+		int moved = 0;
+		for (Map.Entry<String, String> problem : before.entrySet()) {
+			String holder = holderOf(problem.getKey());
+			if (!holder.equals(problem.getValue())) {
+				assertThat(holder).isEqualTo("judge-4");
+				moved++;
+			}
+		}
+		assertThat(moved).isPositive().isLessThan(PROBLEMS / 2);
+
+		// judge-4 leaves: only its problems are warmed again, on their previous owners
+		services.remove("judge-4");
+		clearInvocations(testCaseRepository);
+		for (String node : NODES) {
+			routers.get(node).nodeLeft("judge-4");
+		}
+
+		verify(testCaseRepository, times(moved)).findByProblemId(anyString());
+		before.forEach((problemId, holder) -> assertThat(holderOf(problemId)).isEqualTo(holder));
+	}
+
+	@Test
+	void ownerLoadsProblemsCreatedThroughOtherNodes() {
+		// Created after startup through some other node: present in the database only
+		String problemId = "created-later";
+		database.put(problemId, new ArrayList<>(List.of(
+				new TestCase("late-b", problemId, "2", "2", 2, false, null),
+				new TestCase("late-a", problemId, "1", "1", 1, false, null))));
+		ProblemService owner = services.get(routers.get("judge-1").ownerOf(problemId));
+
+		assertThat(owner.getTestCasesInOrder(problemId))
+				.extracting(TestCase::getTestCaseId)
+				.containsExactly("late-a", "late-b");
+	}
+
+	@Test
+	void addTestCaseOnOwnerWithoutTreeLoadsFullSet() {
+		String problemId = "created-elsewhere";
+		database.put(problemId, new ArrayList<>(List.of(
+				new TestCase("earlier", problemId, "1", "1", 1, false, null))));
+		ProblemService owner = services.get(routers.get("judge-1").ownerOf(problemId));
+
+		TestCaseRequest request = new TestCaseRequest();
+		request.setInput("3");
+		request.setExpectedOutput("3");
+		request.setDifficultyLevel(3);
+		owner.addTestCase(problemId, request);
+
+		assertThat(owner.getTestCaseTree(problemId).getCount()).isEqualTo(2);
+		assertThat(owner.getTestCasesInOrder(problemId))
+				.extracting(TestCase::getDifficultyLevel)
+				.containsExactly(1, 3);
+	}
+
+	@Test
+	void ownerPicksUpTestCasesAddedThroughOtherNodes() {
+		String problemId = "problem-7";
+		String ownerId = routers.get("judge-1").ownerOf(problemId);
+		ProblemService owner = services.get(ownerId);
+		ProblemService other = services.get(NODES.stream().filter(node -> !node.equals(ownerId)).findFirst().orElseThrow());
+
+		TestCaseRequest request = new TestCaseRequest();
+		request.setInput("0");
+		request.setExpectedOutput("0");
+		request.setDifficultyLevel(0);
+		TestCase added = other.addTestCase(problemId, request);
+
+		// Saved to the database only; the owner's tree is unchanged until it catches up
+		assertThat(other.getTestCaseTree(problemId)).isNull();
+		assertThat(owner.getTestCasesInOrder(problemId)).hasSize(2);
+
+		owner.catchUpFromDatabase();
+		owner.catchUpFromDatabase();   // Still inside the overlap window: must not insert it twice
+
+		assertThat(owner.getTestCasesInOrder(problemId))
+				.extracting(TestCase::getTestCaseId)
+				.containsExactly(added.getTestCaseId(), problemId + "-a", problemId + "-b");
+	}
+
+	@Test
+	void nonOwnerServesTestCaseCountFromCacheUntilATestCaseIsAdded() {
+		String problemId = "problem-11";
+		String ownerId = routers.get("judge-1").ownerOf(problemId);
+		ProblemService other = services.get(NODES.stream().filter(node -> !node.equals(ownerId)).findFirst().orElseThrow());
+		when(testCaseRepository.countByProblemId(problemId)).thenAnswer(invocation ->
+				(long) database.get(problemId).size());
+
+		assertThat(other.getProblem(problemId).getTotalTestCases()).isEqualTo(2);
+		assertThat(other.getProblem(problemId).getTotalTestCases()).isEqualTo(2);
+		verify(testCaseRepository, times(1)).countByProblemId(problemId);
+
+		TestCaseRequest request = new TestCaseRequest();
+		request.setInput("5");
+		request.setExpectedOutput("5");
+		request.setDifficultyLevel(5);
+		other.addTestCase(problemId, request);
+
+		assertThat(other.getProblem(problemId).getTotalTestCases()).isEqualTo(3);
+		verify(testCaseRepository, times(2)).countByProblemId(problemId);
+	}
+}
@@ -0,0 +1,176 @@
+package com.dev.code_platform.service;
+
+import com.dev.code_platform.cluster.JudgeClusterRouter;
+import com.dev.code_platform.dto.ProblemResponse;
+import com.dev.code_platform.dto.SamplePayload;
+import com.dev.code_platform.dto.SampleTestCaseResponse;
+import com.dev.code_platform.exception.ResourceNotFoundException;
+import com.dev.code_platform.model.Problem;
+import com.dev.code_platform.model.TestCase;
+import com.dev.code_platform.repository.ProblemRepository;
+import com.dev.code_platform.repository.TestCaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sample previews on the problem page and full sample payloads
+ */
+class ProblemServiceSamplesTest {
+
+	// SHA-256 of "abc"
+	private static final String ABC_SHA256 = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+	private final ProblemRepository problemRepository = mock(ProblemRepository.class);
+	private final TestCaseRepository testCaseRepository = mock(TestCaseRepository.class);
+	private final StubTransactionManager transactionManager = new StubTransactionManager();
+	private ProblemService problemService;
+
+	private final TestCase shortSample = new TestCase("short", "two-sum", "abc", "ok", 1, true, null);
+	private final TestCase longSample = new TestCase("long", "two-sum", "1234567890", "ünïcödé!", 2, true, null);
+	// An emoji is a surrogate pair; the cut at 5 chars would split it
+	private final TestCase emojiSample = new TestCase("emoji", "two-sum", "abcd😀xyz", "x", 3, true, null);
+	private final TestCase hidden = new TestCase("hidden", "two-sum", "secret", "secret", 4, false, null);
+
+	@BeforeEach
+	void setUp() {
+		when(problemRepository.findAll()).thenReturn(List.of(
+				new Problem("two-sum", "Two Sum", "", "EASY", 2000, 256, null)));
+		when(testCaseRepository.findByProblemIdAndIsSample("two-sum", true))
+				.thenReturn(List.of(shortSample, longSample, emojiSample));
+		when(testCaseRepository.findByProblemId("two-sum"))
+				.thenReturn(List.of(shortSample, longSample, emojiSample, hidden));
+		for (TestCase testCase : List.of(shortSample, longSample, emojiSample, hidden)) {
+			when(testCaseRepository.findById(testCase.getTestCaseId())).thenReturn(Optional.of(testCase));
+		}
+
+		JudgeClusterRouter router = new JudgeClusterRouter("judge-1", List.of("judge-1"), 64, event -> {
+		});
+		problemService = new ProblemService(problemRepository, testCaseRepository, router,
+				transactionManager);
+		ReflectionTestUtils.setField(problemService, "samplePreviewChars", 5);
+		ReflectionTestUtils.setField(problemService, "samplePreviewTtlMs", 30_000L);
+		problemService.initialize();
+	}
+
+	private SampleTestCaseResponse preview(String testCaseId) {
+		return problemService.getProblem("two-sum").getSampleTestCases().stream()
+				.filter(sample -> sample.getTestCaseId().equals(testCaseId))
+				.findFirst()
+				.orElseThrow();
+	}
+
+	@Test
+	void listsOnlySamplesWithTotalCount() {
+		ProblemResponse response = problemService.getProblem("two-sum");
+
+		assertThat(response.getSampleTestCases())
+				.extracting(SampleTestCaseResponse::getTestCaseId)
+				.containsExactly("short", "long", "emoji");
+		assertThat(response.getTotalTestCases()).isEqualTo(4);
+	}
+
+	@Test
+	void keepsShortContentWhole() {
+		SampleTestCaseResponse preview = preview("short");
+
+		assertThat(preview.getInputPreview()).isEqualTo("abc");
+		assertThat(preview.getInputTruncated()).isFalse();
+		assertThat(preview.getInputBytes()).isEqualTo(3);
+		assertThat(preview.getInputHash()).isEqualTo(ABC_SHA256);
+		assertThat(preview.getDifficultyLevel()).isEqualTo(1);
+	}
+
+	@Test
+	void truncatesLongContentAndCountsUtf8Bytes() {
+		SampleTestCaseResponse preview = preview("long");
+
+		assertThat(preview.getInputPreview()).isEqualTo("12345");
+		assertThat(preview.getInputTruncated()).isTrue();
+		assertThat(preview.getInputBytes()).isEqualTo(10);
+
+		assertThat(preview.getOutputPreview()).isEqualTo("ünïcö");
+		assertThat(preview.getOutputTruncated()).isTrue();
+		assertThat(preview.getOutputBytes()).isEqualTo("ünïcödé!".getBytes(StandardCharsets.UTF_8).length);
+		assertThat(preview.getOutputHash()).hasSize(64).isNotEqualTo(preview.getInputHash());
+	}
+
+	@Test
+	void neverSplitsASurrogatePair() {
+		SampleTestCaseResponse preview = preview("emoji");
+
+		assertThat(preview.getInputPreview()).isEqualTo("abcd");
+		assertThat(preview.getInputTruncated()).isTrue();
+	}
+
+	@Test
+	void servesFullSamplePartsWithTheirPreviewHash() {
+		SamplePayload input = problemService.getSamplePayload("two-sum", "short", "input");
+		SamplePayload output = problemService.getSamplePayload("two-sum", "long", "output");
+
+		assertThat(input.getContent()).isEqualTo("abc".getBytes(StandardCharsets.UTF_8));
+		assertThat(input.getHash()).isEqualTo(ABC_SHA256);
+		assertThat(output.getContent()).isEqualTo("ünïcödé!".getBytes(StandardCharsets.UTF_8));
+		assertThat(output.getHash()).isEqualTo(preview("long").getOutputHash());
+	}
+
+	@Test
+	void refusesHiddenTestCasesOtherProblemsAndUnknownParts() {
+		when(testCaseRepository.findById("missing")).thenReturn(Optional.empty());
+
+		assertThatThrownBy(() -> problemService.getSamplePayload("two-sum", "hidden", "input"))
+				.isInstanceOf(ResourceNotFoundException.class);
+		assertThatThrownBy(() -> problemService.getSamplePayload("three-sum", "short", "input"))
+				.isInstanceOf(ResourceNotFoundException.class);
+		assertThatThrownBy(() -> problemService.getSamplePayload("two-sum", "missing", "input"))
+				.isInstanceOf(ResourceNotFoundException.class);
+		assertThatThrownBy(() -> problemService.getSamplePayload("two-sum", "short", "code"))
+				.isInstanceOf(ResourceNotFoundException.class);
+	}
+
+	@Test
+	void cacheFillingLoadsNeverRunInAReadOnlyTransaction() {
+		List<String> loads = new ArrayList<>();
+		when(testCaseRepository.findByProblemIdAndIsSample("two-sum", true)).thenAnswer(invocation -> {
+			loads.add(TransactionSynchronizationManager.isActualTransactionActive()
+					+ "/" + TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+					+ "/" + TransactionSynchronizationManager.getCurrentTransactionName());
+			return List.of(shortSample);
+		});
+
+		// No caller transaction: the load opens its own read-write one
+		problemService.getProblem("two-sum");
+
+		// Read-only caller (routed to the replica): the load escapes into a new read-write transaction
+		ReflectionTestUtils.setField(problemService, "samplePreviewTtlMs", 0L);
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		readOnly.setName("read-only-caller");
+		readOnly.executeWithoutResult(status -> problemService.getProblem("two-sum"));
+
+		// Read-write caller: the load joins it and would see its uncommitted rows
+		TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+		readWrite.setName("read-write-caller");
+		readWrite.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+		readWrite.executeWithoutResult(status -> problemService.getProblem("two-sum"));
+
+		assertThat(loads).hasSize(3);
+		assertThat(loads.get(0)).startsWith("true/false/");
+		assertThat(loads.get(1)).startsWith("true/false/").doesNotEndWith("read-only-caller");
+		assertThat(loads.get(2)).isEqualTo("true/false/read-write-caller");
+		assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+	}
+}
@@ -0,0 +1,245 @@
+package com.dev.code_platform.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bootstrap, catch-up and deduplication against a stubbed JdbcTemplate that plays the database
+ */
+class ProblemStatsServiceTest {
+
+	private record SubmissionRow(String submissionId, String problemId, String status, String language,
+								 Integer runtimeMs, LocalDateTime evaluatedAt) {
+	}
+
+	private record DailyRow(String problemId, String status, long count) {
+	}
+
+	/**
+	 * Answers the service's queries from in-memory rows, applying the same filters as its SQL
+	 */
+	private static class FakeJdbcTemplate extends JdbcTemplate {
+		final List<SubmissionRow> submissions = new ArrayList<>();
+		final List<DailyRow> dailyStats = new ArrayList<>();
+		final List<String> executed = new ArrayList<>();
+
+		@Override
+		public void query(String sql, RowCallbackHandler handler) {
+			query(sql, handler, new Object[0]);
+		}
+
+		@Override
+		public void query(String sql, RowCallbackHandler handler, Object... args) {
+			executed.add(sql);
+			boolean skipPending = sql.contains("status NOT IN ('QUEUED', 'RUNNING')");
+			try {
+				if (sql.contains("submission_daily_stats")) {
+					for (DailyRow row : dailyStats) {
+						if (!skipPending || !isPending(row.status())) {
+							handler.processRow(dailyRow(row));
+						}
+					}
+					return;
+				}
+				for (SubmissionRow row : List.copyOf(submissions)) {
+					if ((!skipPending || !isPending(row.status())) && matches(sql, row.evaluatedAt(), args)) {
+						handler.processRow(submissionRow(row));
+					}
+				}
+			} catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		private static boolean isPending(String status) {
+			return status.equals("QUEUED") || status.equals("RUNNING");
+		}
+
+		private static boolean matches(String sql, LocalDateTime evaluatedAt, Object[] args) {
+			if (sql.contains("evaluated_at IS NULL OR evaluated_at <= ?")) {
+				return evaluatedAt == null || !evaluatedAt.isAfter(time(args[0]));
+			}
+			if (sql.contains("evaluated_at > ? AND evaluated_at <= ?")) {
+				return evaluatedAt != null && evaluatedAt.isAfter(time(args[0])) && !evaluatedAt.isAfter(time(args[1]));
+			}
+			return true;
+		}
+
+		private static LocalDateTime time(Object arg) {
+			return ((Timestamp) arg).toLocalDateTime();
+		}
+
+		private static ResultSet dailyRow(DailyRow row) throws SQLException {
+			ResultSet rs = mock(ResultSet.class);
+			when(rs.getString(1)).thenReturn(row.problemId());
+			when(rs.getString(2)).thenReturn(row.status());
+			when(rs.getLong(3)).thenReturn(row.count());
+			return rs;
+		}
+
+		private static ResultSet submissionRow(SubmissionRow row) throws SQLException {
+			ResultSet rs = mock(ResultSet.class);
+			when(rs.getString("submission_id")).thenReturn(row.submissionId());
+			when(rs.getString("problem_id")).thenReturn(row.problemId());
+			when(rs.getString("status")).thenReturn(row.status());
+			when(rs.getString("language")).thenReturn(row.language());
+			when(rs.getObject("runtime_ms", Integer.class)).thenReturn(row.runtimeMs());
+			when(rs.getObject("memory_kb", Integer.class)).thenReturn(null);
+			when(rs.getTimestamp("evaluated_at"))
+					.thenReturn(row.evaluatedAt() == null ? null : Timestamp.valueOf(row.evaluatedAt()));
+			return rs;
+		}
+	}
+
+	@TempDir
+	Path dir;
+
+	private final ProblemService problemService = mock(ProblemService.class);
+	private final FakeJdbcTemplate database = new FakeJdbcTemplate();
+
+	@BeforeEach
+	void setUp() {
+		when(problemService.exists("two-sum")).thenReturn(true);
+	}
+
+	private ProblemStatsService newService(long commitMarginMs, boolean checkpointEnabled) {
+		ProblemStatsService service = new ProblemStatsService(problemService, database);
+		ReflectionTestUtils.setField(service, "commitMarginMs", commitMarginMs);
+		ReflectionTestUtils.setField(service, "checkpointEnabled", checkpointEnabled);
+		ReflectionTestUtils.setField(service, "checkpointPath", dir.resolve("stats.checkpoint").toString());
+		return service;
+	}
+
+	private static LocalDateTime watermark(ProblemStatsService service) {
+		return (LocalDateTime) ReflectionTestUtils.getField(service, "watermark");
+	}
+
+	private static Map<String, Long> counts(ProblemStatsService service) {
+		return service.getStats("two-sum").getStatusCounts();
+	}
+
+	private void insert(String submissionId, String status, LocalDateTime evaluatedAt) {
+		database.submissions.add(new SubmissionRow(submissionId, "two-sum", status, "java", 100, evaluatedAt));
+	}
+
+	private static void recordLocally(ProblemStatsService service, String submissionId, String status,
+									  LocalDateTime evaluatedAt) {
+		service.recordVerdict(submissionId, evaluatedAt, "two-sum", status, "java", 100, null);
+	}
+
+	@Test
+	void bootstrapSkipsPendingRowsAndLeavesRecentVerdictsToTheCatchUp() {
+		LocalDateTime now = LocalDateTime.now();
+		database.dailyStats.add(new DailyRow("two-sum", "ACCEPTED", 40));
+		database.dailyStats.add(new DailyRow("two-sum", "QUEUED", 3));
+		insert("legacy", "ACCEPTED", null);                             // Judged before evaluated_at was stamped
+		insert("old", "WRONG_ANSWER", now.minusHours(1));
+		insert("queued", "QUEUED", null);
+		insert("recent", "ACCEPTED", now.minusSeconds(5));              // Inside the 60 s commit margin
+
+		ProblemStatsService service = newService(60_000, false);
+		service.initialize();
+
+		assertThat(counts(service)).containsExactly(Map.entry("ACCEPTED", 41L), Map.entry("WRONG_ANSWER", 1L));
+		assertThat(watermark(service)).isBetween(now.minusSeconds(60), LocalDateTime.now().minusSeconds(60));
+		assertThat(database.executed).allMatch(sql -> sql.contains("status NOT IN ('QUEUED', 'RUNNING')"));
+	}
+
+	@Test
+	void catchUpCountsOtherNodesVerdictsAndSkipsOnesRecordedHere() {
+		ProblemStatsService service = newService(3_000, false);
+		service.initialize();
+		ReflectionTestUtils.setField(service, "watermark", LocalDateTime.now().minusSeconds(10));
+		LocalDateTime after = LocalDateTime.now().minusSeconds(4);    // Past the 3 s commit margin
+
+		// Judged here: recorded by the listener and committed to the shared database
+		recordLocally(service, "local", "ACCEPTED", after);
+		insert("local", "ACCEPTED", after);
+		// Judged on another node: only in the database
+		insert("remote", "TIME_LIMIT_EXCEEDED", after);
+
+		service.scheduledCatchUp();
+		service.scheduledCatchUp();
+
+		assertThat(counts(service)).containsExactly(
+				Map.entry("ACCEPTED", 1L), Map.entry("TIME_LIMIT_EXCEEDED", 1L));
+		assertThat(watermark(service)).isAfter(after);
+
+		// The listener firing late (within the margin) for a row the catch-up already counted
+		recordLocally(service, "remote", "TIME_LIMIT_EXCEEDED", after);
+		assertThat(counts(service)).containsEntry("TIME_LIMIT_EXCEEDED", 1L);
+	}
+
+	@Test
+	void catchUpWaitsForTheCommitMargin() {
+		ProblemStatsService service = newService(60_000, false);
+		service.initialize();
+		LocalDateTime before = watermark(service);
+
+		insert("fresh", "ACCEPTED", LocalDateTime.now().minusSeconds(1));
+		service.scheduledCatchUp();
+
+		assertThat(counts(service)).isEmpty();
+
+		// Once the margin has passed it is counted
+		ReflectionTestUtils.setField(service, "commitMarginMs", 0L);
+		service.scheduledCatchUp();
+
+		assertThat(counts(service)).containsExactly(Map.entry("ACCEPTED", 1L));
+		assertThat(watermark(service)).isAfter(before);
+	}
+
+	@Test
+	void forgetsRecordedSubmissionsOnceBehindTheWatermark() throws Exception {
+		ProblemStatsService service = newService(0, false);
+		service.initialize();
+		LocalDateTime after = watermark(service).plusNanos(1000);
+		Thread.sleep(5);
+
+		recordLocally(service, "local", "ACCEPTED", after);
+		service.scheduledCatchUp();
+
+		assertThat((Map<?, ?>) ReflectionTestUtils.getField(service, "recentlyRecorded")).isEmpty();
+	}
+
+	@Test
+	void restartResumesFromTheCheckpointWatermarkWithoutDoubleCounting() throws Exception {
+		ProblemStatsService first = newService(0, true);
+		first.initialize();
+		LocalDateTime after = watermark(first).plusNanos(1000);
+		Thread.sleep(5);
+
+		// Recorded locally but not yet caught up when the checkpoint is written
+		recordLocally(first, "before-restart", "ACCEPTED", after);
+		insert("before-restart", "ACCEPTED", after);
+		first.writeCheckpoint();
+
+		// Judged elsewhere while this node was down
+		insert("while-down", "WRONG_ANSWER", after);
+		// Evaluated before the checkpoint's watermark: a restore must not rescan it
+		insert("ancient", "RUNTIME_ERROR", after.minusDays(30));
+
+		ProblemStatsService restarted = newService(0, true);
+		restarted.initialize();
+
+		assertThat(counts(restarted)).containsExactly(
+				Map.entry("ACCEPTED", 1L), Map.entry("WRONG_ANSWER", 1L));
+	}
+}
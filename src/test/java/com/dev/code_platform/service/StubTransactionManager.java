@@ -0,0 +1,44 @@
+package com.dev.code_platform.service;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transaction manager without a resource: runs Spring's propagation and synchronization
+ * (read-only flag, suspension, afterCommit callbacks) so tests can observe them
+ */
+class StubTransactionManager extends AbstractPlatformTransactionManager {
+
+	@Override
+	protected Object doGetTransaction() {
+		return new Object();
+	}
+
+	@Override
+	protected boolean isExistingTransaction(Object transaction) {
+		return TransactionSynchronizationManager.isActualTransactionActive();
+	}
+
+	@Override
+	protected void doBegin(Object transaction, TransactionDefinition definition) {
+	}
+
+	@Override
+	protected Object doSuspend(Object transaction) {
+		return new Object();
+	}
+
+	@Override
+	protected void doResume(Object transaction, Object suspendedResources) {
+	}
+
+	@Override
+	protected void doCommit(DefaultTransactionStatus status) {
+	}
+
+	@Override
+	protected void doRollback(DefaultTransactionStatus status) {
+	}
+}
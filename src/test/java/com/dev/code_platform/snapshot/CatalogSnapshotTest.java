@@ -0,0 +1,79 @@
+package com.dev.code_platform.snapshot;
+
+import com.dev.code_platform.datastructures.TestCaseTree;
+import com.dev.code_platform.model.Problem;
+import com.dev.code_platform.model.TestCase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSnapshotTest {
+
+	@TempDir
+	Path dir;
+
+	private static TestCase testCase(String id, int difficulty, String input) {
+		return new TestCase(id, "two-sum", input, "out-" + id, difficulty, difficulty == 1,
+				LocalDateTime.of(2026, 10, 1, 12, 0, 0, 123_456_789));
+	}
+
+	@Test
+	void roundTripsProblemsTestCasesAndNullFields() throws Exception {
+		Problem full = new Problem("two-sum", "Two Sum", "Find two numbers ünïcode", "EASY", 2000, 256,
+				LocalDateTime.of(2026, 9, 30, 8, 15, 30, 987_654_321));
+		Problem sparse = new Problem("empty", "Empty", null, null, null, null, null);
+		Problem notHeld = new Problem("elsewhere", "Owned Elsewhere", "desc", "HARD", 1000, 128, null);
+
+		List<TestCase> testCases = List.of(
+				testCase("a", 1, "x".repeat(100)),        // Larger than the mapping window below
+				testCase("b", 2, "small"),
+				new TestCase("c", "two-sum", "", "", null, null, null));
+
+		LocalDateTime takenAt = LocalDateTime.of(2026, 10, 19, 9, 0, 0, 1);
+		Path path = dir.resolve("catalog.snapshot");
+		CatalogSnapshot.write(path, takenAt, List.of(
+				new CatalogSnapshot.Entry(full, testCases),
+				new CatalogSnapshot.Entry(sparse, List.of()),
+				new CatalogSnapshot.Entry(notHeld, null)));
+
+		// A tiny window forces values to straddle and exceed mapping boundaries
+		CatalogSnapshot snapshot = CatalogSnapshot.read(path, 16);
+
+		assertThat(snapshot.getTakenAt()).isEqualTo(takenAt);
+		assertThat(snapshot.getEntries()).containsExactly(
+				new CatalogSnapshot.Entry(full, testCases),
+				new CatalogSnapshot.Entry(sparse, List.of()),
+				new CatalogSnapshot.Entry(notHeld, null));
+		assertThat(CatalogSnapshot.read(path).getEntries()).isEqualTo(snapshot.getEntries());
+	}
+
+	@Test
+	void loadSortedPreservesTreeOrder() throws Exception {
+		TestCaseTree original = new TestCaseTree();
+		for (int difficulty : new int[]{3, 1, 5, 2, 4, 2, 5}) {
+			original.insert(testCase("tc" + difficulty + "-" + original.getCount(), difficulty, "in"));
+		}
+
+		Path path = dir.resolve("catalog.snapshot");
+		Problem problem = new Problem("two-sum", "Two Sum", null, "EASY", 2000, 256, null);
+		CatalogSnapshot.write(path, LocalDateTime.now(),
+				List.of(new CatalogSnapshot.Entry(problem, original.inOrderTraversal())));
+
+		TestCaseTree restored = new TestCaseTree();
+		restored.loadSorted(CatalogSnapshot.read(path).getEntries().get(0).testCases());
+
+		assertThat(restored.getCount()).isEqualTo(original.getCount());
+		assertThat(restored.inOrderTraversal()).isEqualTo(original.inOrderTraversal());
+
+		// Inserts after a balanced load still land in difficulty order
+		restored.insert(testCase("late", 3, "in"));
+		assertThat(restored.inOrderTraversal())
+				.extracting(TestCase::getDifficultyLevel)
+				.containsExactly(1, 2, 2, 3, 3, 4, 5, 5);
+	}
+}
@@ -0,0 +1,79 @@
+package com.dev.code_platform.snapshot;
+
+import com.dev.code_platform.datastructures.LogHistogram;
+import com.dev.code_platform.datastructures.ProblemStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProblemStatsCheckpointTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void roundTripsCountsHistogramsAndWatermark() throws Exception {
+		ProblemStats twoSum = new ProblemStats();
+		twoSum.record("ACCEPTED", "java", 120, 40_000);
+		twoSum.record("ACCEPTED", "java", 95, 38_000);
+		twoSum.record("ACCEPTED", "python", 900, null);
+		twoSum.record("WRONG_ANSWER", "python", 15, 9_000);
+		twoSum.record("COMPILATION_ERROR", null, null, null);
+
+		ProblemStats untouched = new ProblemStats();
+		untouched.addStatusCount("ACCEPTED", 7);
+
+		LocalDateTime takenAt = LocalDateTime.of(2026, 10, 19, 9, 0, 0, 123_456_789);
+		LocalDateTime watermark = takenAt.minusSeconds(30);
+		Map<String, LocalDateTime> recentlyRecorded = Map.of(
+				"sub-1", watermark.plusSeconds(5),
+				"sub-2", watermark.minusNanos(1));
+
+		Path path = dir.resolve("problem-stats.checkpoint");
+		ProblemStatsCheckpoint.write(path, takenAt, watermark, recentlyRecorded,
+				Map.of("two-sum", twoSum, "untouched", untouched));
+
+		ProblemStatsCheckpoint restored = ProblemStatsCheckpoint.read(path);
+
+		assertThat(restored.getTakenAt()).isEqualTo(takenAt);
+		assertThat(restored.getWatermark()).isEqualTo(watermark);
+		assertThat(restored.getRecentlyRecorded()).isEqualTo(recentlyRecorded);
+		assertThat(restored.getStats()).containsOnlyKeys("two-sum", "untouched");
+
+		ProblemStats twoSumRestored = restored.getStats().get("two-sum");
+		assertThat(twoSumRestored.getStatusCounts()).isEqualTo(twoSum.getStatusCounts());
+		assertSameHistograms(twoSumRestored.getRuntimeByLanguage(), twoSum.getRuntimeByLanguage());
+		assertSameHistograms(twoSumRestored.getMemoryByLanguage(), twoSum.getMemoryByLanguage());
+
+		ProblemStats untouchedRestored = restored.getStats().get("untouched");
+		assertThat(untouchedRestored.getStatusCounts()).containsExactly(Map.entry("ACCEPTED", 7L));
+		assertThat(untouchedRestored.getRuntimeByLanguage()).isEmpty();
+	}
+
+	@Test
+	void rejectsFilesThatAreNotCheckpoints() throws Exception {
+		Path path = dir.resolve("not-a-checkpoint");
+		Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+		assertThatThrownBy(() -> ProblemStatsCheckpoint.read(path)).isInstanceOf(IOException.class);
+	}
+
+	private static void assertSameHistograms(Map<String, LogHistogram> actual, Map<String, LogHistogram> expected) {
+		assertThat(actual).containsOnlyKeys(expected.keySet());
+		expected.forEach((language, histogram) -> {
+			LogHistogram restored = actual.get(language);
+			assertThat(restored.bucketCounts()).isEqualTo(histogram.bucketCounts());
+			assertThat(restored.getCount()).isEqualTo(histogram.getCount());
+			assertThat(restored.getSum()).isEqualTo(histogram.getSum());
+			assertThat(restored.percentile(90)).isEqualTo(histogram.percentile(90));
+		});
+	}
+}